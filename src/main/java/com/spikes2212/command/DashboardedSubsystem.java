@@ -1,14 +1,16 @@
 package com.spikes2212.command;
 
 import com.spikes2212.dashboard.Namespace;
+import com.spikes2212.dashboard.NamespaceRegistry;
 import com.spikes2212.dashboard.RootNamespace;
+import com.spikes2212.util.Profiler;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link Subsystem} that includes a {@link Namespace}, which lets you see and configure data using the
@@ -18,8 +20,34 @@ import java.util.List;
  */
 public abstract class DashboardedSubsystem extends SubsystemBase {
 
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /**
+     * The name found by {@link #getClassName(String)} for every class that was constructed, by the class.
+     */
+    private static final Map<Class<?>, String> CLASS_NAMES = new ConcurrentHashMap<>();
+
     protected final Namespace namespace;
 
+    /**
+     * Measures this subsystem's loop, or {@code null} if profiling is disabled.
+     */
+    private Profiler profiler;
+
+    /**
+     * The section of the profiler which measures the namespace's update here, or {@code null} if the namespace is
+     * not measured here. A {@link RootNamespace} measures its own updates instead, so they are measured even when
+     * the {@link NamespaceRegistry} updates it.
+     */
+    private Profiler.Section namespaceUpdateSection;
+
+    /**
+     * The section of the profiler which measures {@link #subsystemPeriodic()}, or {@code null} if profiling is
+     * disabled.
+     */
+    private Profiler.Section periodicSection;
+
     public DashboardedSubsystem(Namespace namespace) {
         this.namespace = namespace;
     }
@@ -29,28 +57,103 @@ public abstract class DashboardedSubsystem extends SubsystemBase {
     }
 
     /**
-     * Updates the {@link Namespace}. Should be called in the {@code robotPeriodic()} method in {@code Robot}.
+     * Runs {@link #subsystemPeriodic()} and updates the {@link Namespace}. Should be called in the
+     * {@code robotPeriodic()} method in {@code Robot}.
+     * Does nothing to a {@link RootNamespace} once the {@link NamespaceRegistry} is used to update all the
+     * namespaces.
      */
     @Override
     public void periodic() {
-        namespace.update();
+        if (periodicSection == null) {
+            subsystemPeriodic();
+        } else {
+            periodicSection.start();
+            subsystemPeriodic();
+            periodicSection.stop();
+        }
+        if (namespaceUpdateSection == null) {
+            namespace.update();
+        } else {
+            namespaceUpdateSection.start();
+            namespace.update();
+            namespaceUpdateSection.stop();
+        }
+        if (profiler != null) {
+            profiler.update();
+        }
+    }
+
+    /**
+     * Runs once per scheduler run, before the namespace is updated. Subsystems should put their periodic code here
+     * rather than override {@link #periodic()}, so it is measured when profiling is enabled. Does nothing by default.
+     */
+    protected void subsystemPeriodic() {
+    }
+
+    /**
+     * Starts measuring how long this subsystem's {@link #subsystemPeriodic()} and namespace update take, and
+     * publishes summaries of the measurements to a child namespace called "profiler". Code in an overridden
+     * {@code periodic()} is not measured automatically, but can be measured using {@link #getProfiler()}, for example
+     * by wrapping it in {@link Profiler#profile(String, Runnable)}.
+     */
+    public void enableProfiling() {
+        if (profiler != null) return;
+        profiler = new Profiler(namespace.addChild("profiler"));
+        periodicSection = profiler.getSection("periodic");
+        Profiler.Section section = profiler.getSection("namespace update");
+        if (namespace instanceof RootNamespace) {
+            ((RootNamespace) namespace).setUpdateSection(section);
+        } else {
+            namespaceUpdateSection = section;
+        }
+    }
+
+    /**
+     * @return the profiler which measures this subsystem's loop, or {@code null} if profiling is disabled
+     */
+    public Profiler getProfiler() {
+        return profiler;
     }
 
     public abstract void configureDashboard();
 
     /**
      * Should be used inside a constructor to get the name of the class of the object that is being created.
-     * The method achieves that by finding the earliest constructor in the method call stack.
+     * The method achieves that by finding the outermost constructor on the stack, without capturing a stack trace.
+     * The name is cached by the class of the object, so the whole stack is only walked the first time an object of
+     * each class is created, and later objects of the class get the same name.
      * @param defaultName default return value in case the method, for any reason, does not find a constructor.
      * @return name of the class
      */
     protected static String getClassName(String defaultName) {
-        List<StackTraceElement> elements = Arrays.asList(Thread.currentThread().getStackTrace());
-        Collections.reverse(elements);
-        for (StackTraceElement element : elements) {
-            if (element.toString().contains(".<init>"))
-                return element.getClassName();
-        }
-        return defaultName;
+        Class<?> constructedClass = STACK_WALKER.walk(frames -> {
+            Iterator<StackWalker.StackFrame> iterator = frames.skip(1).iterator();
+            Class<?> result = null;
+            while (iterator.hasNext()) {
+                StackWalker.StackFrame frame = iterator.next();
+                Class<?> declaringClass = frame.getDeclaringClass();
+                if (!frame.getMethodName().equals("<init>") ||
+                        (result != null && !result.isAssignableFrom(declaringClass)))
+                    break;
+                result = declaringClass;
+            }
+            return result;
+        });
+        if (constructedClass == null) return defaultName;
+        return CLASS_NAMES.computeIfAbsent(constructedClass, type -> STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getMethodName().equals("<init>"))
+                .reduce((inner, outer) -> outer)
+                .map(StackWalker.StackFrame::getClassName)
+                .orElse(defaultName)));
+    }
+
+    /**
+     * Gets the name of the given class. Cheaper than {@link #getClassName(String)}, and should be preferred when the
+     * class is known, such as {@code getClassName(MyDrivetrain.class)}.
+     * @param type the class
+     * @return name of the class
+     */
+    protected static String getClassName(Class<?> type) {
+        return type.getName();
     }
 }
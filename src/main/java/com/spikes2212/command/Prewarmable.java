@@ -0,0 +1,20 @@
+package com.spikes2212.command;
+
+import edu.wpi.first.wpilibj2.command.Command;
+
+/**
+ * A {@link Command} which can do its expensive preparations (such as loading and generating paths, or running
+ * its calculations once so their classes are loaded and compiled) ahead of time.
+ *
+ * <p>An autonomous command that implements this interface is pre-warmed on a background thread by the
+ * {@link com.spikes2212.dashboard.AutoChooser} as soon as it is selected while the robot is disabled, so the first
+ * seconds of the autonomous period are not spent on preparations.</p>
+ */
+public interface Prewarmable {
+
+    /**
+     * Prepares the command ahead of time. Called on a background thread while the robot is disabled, so it should
+     * not move any actuators or change the state of any subsystem, and may be called more than once.
+     */
+    void prewarm();
+}
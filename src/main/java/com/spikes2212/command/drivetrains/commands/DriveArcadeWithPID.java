@@ -61,6 +61,12 @@ public class DriveArcadeWithPID extends CommandBase {
      */
     protected Supplier<Double> moveValue;
 
+    /**
+     * Apply the PID and feed forward settings to the controllers when they change.
+     */
+    private final SettingsApplier pidSettingsApplier = new SettingsApplier();
+    private final SettingsApplier feedForwardSettingsApplier = new SettingsApplier();
+
     public DriveArcadeWithPID(TankDrivetrain drivetrain, Supplier<Double> source, Supplier<Double> setpoint,
                               Supplier<Double> moveValue, PIDSettings pidSettings,
                               FeedForwardSettings feedForwardSettings) {
@@ -94,11 +100,8 @@ public class DriveArcadeWithPID extends CommandBase {
 
     @Override
     public void execute() {
-        pidController.setTolerance(pidSettings.getTolerance());
-        pidController.setPID(pidSettings.getkP(), pidSettings.getkI(), pidSettings.getkD());
-
-        feedForwardController.setGains(feedForwardSettings.getkS(), feedForwardSettings.getkV(),
-                feedForwardSettings.getkA(), feedForwardSettings.getkG());
+        pidSettingsApplier.apply(pidSettings, pidController);
+        feedForwardSettingsApplier.apply(feedForwardSettings, feedForwardController);
 
         drivetrain.arcadeDrive(moveValue.get(), pidController.calculate(source.get(), setpoint.get()) +
                 feedForwardController.calculate(setpoint.get()));
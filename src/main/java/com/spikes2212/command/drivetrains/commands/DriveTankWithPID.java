@@ -4,6 +4,7 @@ import com.spikes2212.command.drivetrains.TankDrivetrain;
 import com.spikes2212.control.FeedForwardController;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
+import com.spikes2212.control.SettingsApplier;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandBase;
@@ -93,6 +94,14 @@ public class DriveTankWithPID extends CommandBase {
      */
     private double rightLastTimeNotOnTarget;
 
+    /**
+     * Apply the PID and feed forward settings of each side to its controllers when they change.
+     */
+    private final SettingsApplier leftPIDSettingsApplier = new SettingsApplier();
+    private final SettingsApplier rightPIDSettingsApplier = new SettingsApplier();
+    private final SettingsApplier leftFeedForwardSettingsApplier = new SettingsApplier();
+    private final SettingsApplier rightFeedForwardSettingsApplier = new SettingsApplier();
+
     public DriveTankWithPID(TankDrivetrain drivetrain, PIDSettings leftPIDSettings, PIDSettings rightPIDSettings,
                             Supplier<Double> leftSetpoint, Supplier<Double> rightSetpoint, Supplier<Double> leftSource,
                             Supplier<Double> rightSource, FeedForwardSettings leftFeedForwardSettings,
@@ -147,14 +156,10 @@ public class DriveTankWithPID extends CommandBase {
     public void execute() {
         leftPIDController.setSetpoint(leftSetpoint.get());
         rightPIDController.setSetpoint(rightSetpoint.get());
-        leftPIDController.setTolerance(leftPIDSettings.getTolerance());
-        rightPIDController.setTolerance(rightPIDSettings.getTolerance());
-        leftPIDController.setPID(leftPIDSettings.getkP(), leftPIDSettings.getkI(), leftPIDSettings.getkD());
-        rightPIDController.setPID(rightPIDSettings.getkP(), rightPIDSettings.getkI(), rightPIDSettings.getkD());
-        leftFeedForwardController.setGains(leftFeedForwardSettings.getkS(), leftFeedForwardSettings.getkV(),
-                leftFeedForwardSettings.getkA(), leftFeedForwardSettings.getkG());
-        rightFeedForwardController.setGains(rightFeedForwardSettings.getkS(), rightFeedForwardSettings.getkV(),
-                rightFeedForwardSettings.getkA(), rightFeedForwardSettings.getkG());
+        leftPIDSettingsApplier.apply(leftPIDSettings, leftPIDController);
+        rightPIDSettingsApplier.apply(rightPIDSettings, rightPIDController);
+        leftFeedForwardSettingsApplier.apply(leftFeedForwardSettings, leftFeedForwardController);
+        rightFeedForwardSettingsApplier.apply(rightFeedForwardSettings, rightFeedForwardController);
         drivetrain.tankDrive((leftPIDController.calculate(leftSource.get()) +
                         leftFeedForwardController.calculate(leftSetpoint.get())),
                 rightPIDController.calculate(rightSource.get()) +
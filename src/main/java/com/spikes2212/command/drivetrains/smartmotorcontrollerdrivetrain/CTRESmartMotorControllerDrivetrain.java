@@ -1,5 +1,6 @@
 package com.spikes2212.command.drivetrains.smartmotorcontrollerdrivetrain;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.IFollower;
 import com.ctre.phoenix.motorcontrol.can.BaseMotorController;
@@ -8,6 +9,8 @@ import com.spikes2212.command.drivetrains.TankDrivetrain;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
 import com.spikes2212.control.TrapezoidProfileSettings;
+import com.spikes2212.util.ConfigurationScheduler;
+import com.spikes2212.util.MotorControllerConfigCache;
 import com.spikes2212.util.UnifiedControlMode;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.wpilibj.motorcontrol.MotorController;
@@ -50,6 +53,16 @@ public class CTRESmartMotorControllerDrivetrain extends TankDrivetrain implement
      */
     protected final List<? extends IFollower> rightSlaves;
 
+    /**
+     * The loop configurations that were last applied to the left master.
+     */
+    private final MotorControllerConfigCache leftConfigCache = new MotorControllerConfigCache(LOOP_SLOT + 1);
+
+    /**
+     * The loop configurations that were last applied to the right master.
+     */
+    private final MotorControllerConfigCache rightConfigCache = new MotorControllerConfigCache(LOOP_SLOT + 1);
+
     /**
      * Constructs a new instance of {@link CTRESmartMotorControllerDrivetrain}.
      *
@@ -95,36 +108,28 @@ public class CTRESmartMotorControllerDrivetrain extends TankDrivetrain implement
     }
 
     /**
-     * Configures the loops' PID constants and feed forward gains.
+     * Configures the loops' PID constants and feed forward gains. Only the values which have changed since they
+     * were last applied are sent to the motor controllers.
      */
     @Override
     public void configPIDF(PIDSettings leftPIDSettings, PIDSettings rightPIDSettings,
                            FeedForwardSettings feedForwardSettings) {
-        leftMaster.config_kP(LOOP_SLOT, leftPIDSettings.getkP());
-        leftMaster.config_kI(LOOP_SLOT, leftPIDSettings.getkI());
-        leftMaster.config_kD(LOOP_SLOT, leftPIDSettings.getkD());
-        leftMaster.config_kF(LOOP_SLOT, feedForwardSettings.getkV());
-        rightMaster.config_kP(LOOP_SLOT, rightPIDSettings.getkP());
-        rightMaster.config_kI(LOOP_SLOT, rightPIDSettings.getkI());
-        rightMaster.config_kD(LOOP_SLOT, rightPIDSettings.getkD());
-        rightMaster.config_kF(LOOP_SLOT, feedForwardSettings.getkV());
+        leftConfigCache.configPIDF(leftMaster, LOOP_SLOT, leftPIDSettings, feedForwardSettings);
+        rightConfigCache.configPIDF(rightMaster, LOOP_SLOT, rightPIDSettings, feedForwardSettings);
     }
 
     /**
-     * Configures the loops' trapezoid profile settings.
+     * Configures the loops' trapezoid profile settings. Only the values which have changed since they were last
+     * applied are sent to the motor controllers.
      */
     @Override
     public void configureTrapezoid(TrapezoidProfileSettings settings) {
-        leftMaster.configMotionAcceleration(settings.getAccelerationRate());
-        leftMaster.configMotionCruiseVelocity(settings.getMaxVelocity());
-        leftMaster.configMotionSCurveStrength(settings.getCurve());
-        rightMaster.configMotionAcceleration(settings.getAccelerationRate());
-        rightMaster.configMotionCruiseVelocity(settings.getMaxVelocity());
-        rightMaster.configMotionSCurveStrength(settings.getCurve());
+        leftConfigCache.configureTrapezoid(leftMaster, settings);
+        rightConfigCache.configureTrapezoid(rightMaster, settings);
     }
 
     /**
-     * Configures the loops' settings.
+     * Configures the loops' settings, waiting for the motor controllers to acknowledge every value.
      */
     @Override
     public void configureLoop(PIDSettings leftPIDSettings, PIDSettings rightPIDSettings,
@@ -132,8 +137,53 @@ public class CTRESmartMotorControllerDrivetrain extends TankDrivetrain implement
                               TrapezoidProfileSettings trapezoidProfileSettings) {
         leftMaster.configFactoryDefault();
         rightMaster.configFactoryDefault();
-        configPIDF(leftPIDSettings, rightPIDSettings, feedForwardSettings);
-        configureTrapezoid(trapezoidProfileSettings);
+        leftConfigCache.invalidate();
+        rightConfigCache.invalidate();
+        int timeout = MotorControllerConfigCache.CTRE_TIMEOUT_MS;
+        leftConfigCache.configPIDF(leftMaster, LOOP_SLOT, leftPIDSettings, feedForwardSettings, timeout);
+        rightConfigCache.configPIDF(rightMaster, LOOP_SLOT, rightPIDSettings, feedForwardSettings, timeout);
+        leftConfigCache.configureTrapezoid(leftMaster, trapezoidProfileSettings, timeout);
+        rightConfigCache.configureTrapezoid(rightMaster, trapezoidProfileSettings, timeout);
+    }
+
+    /**
+     * Schedules the configuration of the loops' settings on the {@link ConfigurationScheduler}. Each master is
+     * restored to its factory defaults, and then its gains and trapezoid profile settings are configured, each in a
+     * separate operation which runs only if the previous ones completed.
+     *
+     * @param leftPIDSettings          the left side's PID constants
+     * @param rightPIDSettings         the right side's PID constants
+     * @param feedForwardSettings      the feed forward gains
+     * @param trapezoidProfileSettings the trapezoid profile settings
+     * @return the last scheduled task, which is done once the loops are configured
+     */
+    @Override
+    public ConfigurationScheduler.Task scheduleLoopConfiguration(PIDSettings leftPIDSettings,
+                                                                 PIDSettings rightPIDSettings,
+                                                                 FeedForwardSettings feedForwardSettings,
+                                                                 TrapezoidProfileSettings trapezoidProfileSettings) {
+        int timeout = MotorControllerConfigCache.CTRE_TIMEOUT_MS;
+        ConfigurationScheduler.Task task =
+                ConfigurationScheduler.schedule(getName() + " left factory defaults", 1, () -> {
+                    if (leftMaster.configFactoryDefault() != ErrorCode.OK) return false;
+                    leftConfigCache.invalidate();
+                    return true;
+                });
+        task = task.then(getName() + " right factory defaults", 1, () -> {
+            if (rightMaster.configFactoryDefault() != ErrorCode.OK) return false;
+            rightConfigCache.invalidate();
+            return true;
+        });
+        task = task.then(getName() + " left PIDF", 4,
+                () -> leftConfigCache.configPIDF(leftMaster, LOOP_SLOT, leftPIDSettings, feedForwardSettings,
+                        timeout));
+        task = task.then(getName() + " right PIDF", 4,
+                () -> rightConfigCache.configPIDF(rightMaster, LOOP_SLOT, rightPIDSettings, feedForwardSettings,
+                        timeout));
+        task = task.then(getName() + " left trapezoid profile", 3,
+                () -> leftConfigCache.configureTrapezoid(leftMaster, trapezoidProfileSettings, timeout));
+        return task.then(getName() + " right trapezoid profile", 3,
+                () -> rightConfigCache.configureTrapezoid(rightMaster, trapezoidProfileSettings, timeout));
     }
 
     /**
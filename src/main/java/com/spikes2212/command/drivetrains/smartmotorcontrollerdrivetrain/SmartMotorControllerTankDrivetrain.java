@@ -4,6 +4,7 @@ import com.spikes2212.command.drivetrains.TankDrivetrain;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
 import com.spikes2212.control.TrapezoidProfileSettings;
+import com.spikes2212.util.ConfigurationScheduler;
 import com.spikes2212.util.UnifiedControlMode;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 
@@ -46,6 +47,30 @@ public interface SmartMotorControllerTankDrivetrain extends Subsystem {
                 TrapezoidProfileSettings.EMPTY_TRAPEZOID_PROFILE_SETTINGS);
     }
 
+    /**
+     * Schedules the configuration of the loops' settings on the {@link ConfigurationScheduler}, instead of
+     * configuring them immediately.
+     *
+     * <p>By default, {@link #configureLoop} is run as a single operation. Since it does not report failures, the
+     * operation is always considered successful: it is never retried, and the tasks that depend on it always run.
+     * Implementations whose configurations can fail should override this method and report the failures.</p>
+     *
+     * @param leftPIDSettings          the left side's PID constants
+     * @param rightPIDSettings         the right side's PID constants
+     * @param feedForwardSettings      the feed forward gains
+     * @param trapezoidProfileSettings the trapezoid profile settings
+     * @return the last scheduled task, which is done once the loops are configured
+     */
+    default ConfigurationScheduler.Task scheduleLoopConfiguration(PIDSettings leftPIDSettings,
+                                                                  PIDSettings rightPIDSettings,
+                                                                  FeedForwardSettings feedForwardSettings,
+                                                                  TrapezoidProfileSettings trapezoidProfileSettings) {
+        return ConfigurationScheduler.schedule(getClass().getSimpleName() + " loops", 16, () -> {
+            configureLoop(leftPIDSettings, rightPIDSettings, feedForwardSettings, trapezoidProfileSettings);
+            return true;
+        });
+    }
+
     /**
      * Updates any control loops running on the drivetrain's motor controllers.
      *
@@ -1,11 +1,13 @@
 package com.spikes2212.command.drivetrains.smartmotorcontrollerdrivetrain;
 
 import com.revrobotics.CANSparkMax;
-import com.revrobotics.SparkMaxPIDController;
+import com.revrobotics.REVLibError;
 import com.spikes2212.command.drivetrains.TankDrivetrain;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
 import com.spikes2212.control.TrapezoidProfileSettings;
+import com.spikes2212.util.ConfigurationScheduler;
+import com.spikes2212.util.MotorControllerConfigCache;
 import com.spikes2212.util.UnifiedControlMode;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
@@ -52,6 +54,18 @@ public class SparkMaxTankDrivetrain extends TankDrivetrain implements SmartMotor
      */
     protected final List<CANSparkMax> rightSlaves;
 
+    /**
+     * The loop configurations that were last applied to the left master.
+     */
+    private final MotorControllerConfigCache leftConfigCache =
+            new MotorControllerConfigCache(Math.max(PID_SLOT, TRAPEZOID_SLOT_ID) + 1);
+
+    /**
+     * The loop configurations that were last applied to the right master.
+     */
+    private final MotorControllerConfigCache rightConfigCache =
+            new MotorControllerConfigCache(Math.max(PID_SLOT, TRAPEZOID_SLOT_ID) + 1);
+
     /**
      * Constructs a new instance of {@link SparkMaxTankDrivetrain}.
      *
@@ -94,34 +108,24 @@ public class SparkMaxTankDrivetrain extends TankDrivetrain implements SmartMotor
     }
 
     /**
-     * Configures the loops' PID constants and feed forward gains.
+     * Configures the loops' PID constants and feed forward gains. Only the values which have changed since they
+     * were last applied are sent to the motor controllers.
      */
     @Override
     public void configPIDF(PIDSettings leftPIDSettings, PIDSettings rightPIDSettings,
                            FeedForwardSettings feedForwardSettings) {
-        leftMaster.getPIDController().setFF(feedForwardSettings.getkV());
-        leftMaster.getPIDController().setP(leftPIDSettings.getkP());
-        leftMaster.getPIDController().setI(leftPIDSettings.getkI());
-        leftMaster.getPIDController().setD(leftPIDSettings.getkD());
-        rightMaster.getPIDController().setFF(feedForwardSettings.getkV());
-        rightMaster.getPIDController().setP(rightPIDSettings.getkP());
-        rightMaster.getPIDController().setI(rightPIDSettings.getkI());
-        rightMaster.getPIDController().setD(rightPIDSettings.getkD());
+        leftConfigCache.configPIDF(leftMaster, PID_SLOT, leftPIDSettings, feedForwardSettings);
+        rightConfigCache.configPIDF(rightMaster, PID_SLOT, rightPIDSettings, feedForwardSettings);
     }
 
     /**
-     * Configures the loops' trapezoid profile settings.
+     * Configures the loops' trapezoid profile settings. Only the values which have changed since they were last
+     * applied are sent to the motor controllers.
      */
     @Override
     public void configureTrapezoid(TrapezoidProfileSettings settings) {
-        leftMaster.getPIDController().setSmartMotionMaxAccel(settings.getAccelerationRate(), TRAPEZOID_SLOT_ID);
-        leftMaster.getPIDController().setSmartMotionMaxVelocity(settings.getMaxVelocity(), TRAPEZOID_SLOT_ID);
-        leftMaster.getPIDController().setSmartMotionAccelStrategy(
-                SparkMaxPIDController.AccelStrategy.fromInt(settings.getCurve()), TRAPEZOID_SLOT_ID);
-        rightMaster.getPIDController().setSmartMotionMaxAccel(settings.getAccelerationRate(), TRAPEZOID_SLOT_ID);
-        rightMaster.getPIDController().setSmartMotionMaxVelocity(settings.getMaxVelocity(), TRAPEZOID_SLOT_ID);
-        rightMaster.getPIDController().setSmartMotionAccelStrategy(
-                SparkMaxPIDController.AccelStrategy.fromInt(settings.getCurve()), TRAPEZOID_SLOT_ID);
+        leftConfigCache.configureTrapezoid(leftMaster, TRAPEZOID_SLOT_ID, settings);
+        rightConfigCache.configureTrapezoid(rightMaster, TRAPEZOID_SLOT_ID, settings);
     }
 
     /**
@@ -133,10 +137,49 @@ public class SparkMaxTankDrivetrain extends TankDrivetrain implements SmartMotor
                               TrapezoidProfileSettings trapezoidProfileSettings) {
         leftMaster.restoreFactoryDefaults();
         rightMaster.restoreFactoryDefaults();
+        leftConfigCache.invalidate();
+        rightConfigCache.invalidate();
         configPIDF(leftPIDSettings, rightPIDSettings, feedForwardSettings);
         configureTrapezoid(trapezoidProfileSettings);
     }
 
+    /**
+     * Schedules the configuration of the loops' settings on the {@link ConfigurationScheduler}. Each master is
+     * restored to its factory defaults, and then its gains and trapezoid profile settings are configured, each in a
+     * separate operation which runs only if the previous ones completed.
+     *
+     * @param leftPIDSettings          the left side's PID constants
+     * @param rightPIDSettings         the right side's PID constants
+     * @param feedForwardSettings      the feed forward gains
+     * @param trapezoidProfileSettings the trapezoid profile settings
+     * @return the last scheduled task, which is done once the loops are configured
+     */
+    @Override
+    public ConfigurationScheduler.Task scheduleLoopConfiguration(PIDSettings leftPIDSettings,
+                                                                 PIDSettings rightPIDSettings,
+                                                                 FeedForwardSettings feedForwardSettings,
+                                                                 TrapezoidProfileSettings trapezoidProfileSettings) {
+        ConfigurationScheduler.Task task =
+                ConfigurationScheduler.schedule(getName() + " left factory defaults", 1, () -> {
+                    if (leftMaster.restoreFactoryDefaults() != REVLibError.kOk) return false;
+                    leftConfigCache.invalidate();
+                    return true;
+                });
+        task = task.then(getName() + " right factory defaults", 1, () -> {
+            if (rightMaster.restoreFactoryDefaults() != REVLibError.kOk) return false;
+            rightConfigCache.invalidate();
+            return true;
+        });
+        task = task.then(getName() + " left PIDF", 4, () -> leftConfigCache.configPIDF(
+                leftMaster, PID_SLOT, leftPIDSettings, feedForwardSettings));
+        task = task.then(getName() + " right PIDF", 4, () -> rightConfigCache.configPIDF(
+                rightMaster, PID_SLOT, rightPIDSettings, feedForwardSettings));
+        task = task.then(getName() + " left trapezoid profile", 3, () -> leftConfigCache
+                .configureTrapezoid(leftMaster, TRAPEZOID_SLOT_ID, trapezoidProfileSettings));
+        return task.then(getName() + " right trapezoid profile", 3, () -> rightConfigCache
+                .configureTrapezoid(rightMaster, TRAPEZOID_SLOT_ID, trapezoidProfileSettings));
+    }
+
     /**
      * Updates any control loops running on the master {@link CANSparkMax}s.
      *
@@ -57,6 +57,12 @@ public class MoveGenericSubsystemWithPID extends CommandBase {
      */
     private double lastTimeNotOnTarget;
 
+    /**
+     * Apply the PID and feed forward settings to the controllers when they change.
+     */
+    private final SettingsApplier pidSettingsApplier = new SettingsApplier();
+    private final SettingsApplier feedForwardSettingsApplier = new SettingsApplier();
+
     public MoveGenericSubsystemWithPID(GenericSubsystem subsystem, Supplier<Double> setpoint, Supplier<Double> source,
                                        PIDSettings pidSettings, FeedForwardSettings feedForwardSettings) {
         addRequirements(subsystem);
@@ -65,8 +71,8 @@ public class MoveGenericSubsystemWithPID extends CommandBase {
         this.feedForwardSettings = feedForwardSettings;
         this.setpoint = setpoint;
         this.source = source;
-        this.feedForwardController = new FeedForwardController(feedForwardSettings.getkS(), feedForwardSettings.getkV(),
-                feedForwardSettings.getkA(), feedForwardSettings.getkG(), FeedForwardController.DEFAULT_PERIOD);
+        this.feedForwardController = new FeedForwardController(feedForwardSettings,
+                FeedForwardController.DEFAULT_PERIOD);
         this.pidController = new PIDController(pidSettings.getkP(), pidSettings.getkI(), pidSettings.getkD());
     }
 
@@ -86,16 +92,22 @@ public class MoveGenericSubsystemWithPID extends CommandBase {
     }
 
     protected double calculatePIDAndFFValues() {
-        pidController.setTolerance(pidSettings.getTolerance());
-        pidController.setPID(pidSettings.getkP(), pidSettings.getkI(), pidSettings.getkD());
-        feedForwardController.setGains(feedForwardSettings.getkS(), feedForwardSettings.getkV(),
-                feedForwardSettings.getkA(), feedForwardSettings.getkG());
-
+        applySettings();
         double pidValue = pidController.calculate(source.get(), setpoint.get());
         double svagValue = feedForwardController.calculate(setpoint.get());
         return pidValue + svagValue;
     }
 
+    /**
+     * Applies the PID and feed forward settings to the controllers if they may have changed since they were last
+     * applied.
+     */
+    protected void applySettings() {
+        pidSettingsApplier.apply(pidSettings, pidController);
+        feedForwardSettingsApplier.apply(feedForwardSettings, feedForwardController);
+        feedForwardController.setGravityModel(feedForwardSettings.getGravityModel());
+    }
+
     @Override
     public void execute() {
         subsystem.move(calculatePIDAndFFValues());
@@ -0,0 +1,141 @@
+package com.spikes2212.command.genericsubsystem.commands;
+
+import com.spikes2212.command.genericsubsystem.GenericSubsystem;
+import com.spikes2212.control.FeedForwardSettings;
+import com.spikes2212.control.PIDSettings;
+import com.spikes2212.control.TrapezoidProfileSettings;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.util.function.Supplier;
+
+/**
+ * This command moves a {@link GenericSubsystem} to a setpoint along a trapezoid profile which is generated on the
+ * RoboRIO, for subsystems whose motor controllers cannot run profiles themselves.
+ *
+ * <p>On every cycle, the PID loop is given the profile's current position, and the feed forward controller is given
+ * the profile's current velocity and acceleration, which is the change in the profile's velocity since the previous
+ * cycle. If the setpoint or the profile's constraints change during the motion, a new profile is generated from the
+ * current state of the previous one, so the motion stays smooth. If either constraint is not positive, the PID loop
+ * is given the setpoint itself instead.</p>
+ *
+ * @see MoveGenericSubsystemWithPID
+ */
+public class MoveGenericSubsystemWithProfiledPID extends MoveGenericSubsystemWithPID {
+
+    /**
+     * The trapezoid profile configurations.
+     */
+    protected final TrapezoidProfileSettings trapezoidProfileSettings;
+
+    private TrapezoidProfile profile;
+    private TrapezoidProfile.State state;
+    private double profileStartTime;
+    private double goal;
+    private double maxVelocity;
+    private double accelerationRate;
+
+    /**
+     * The time the profile's state was last calculated at.
+     */
+    private double lastStateTime;
+
+    /**
+     * The last time the subsystem didn't reach the end of the profile.
+     */
+    private double lastTimeNotOnTarget;
+
+    public MoveGenericSubsystemWithProfiledPID(GenericSubsystem subsystem, Supplier<Double> setpoint,
+                                               Supplier<Double> source, PIDSettings pidSettings,
+                                               FeedForwardSettings feedForwardSettings,
+                                               TrapezoidProfileSettings trapezoidProfileSettings) {
+        super(subsystem, setpoint, source, pidSettings, feedForwardSettings);
+        this.trapezoidProfileSettings = trapezoidProfileSettings;
+    }
+
+    public MoveGenericSubsystemWithProfiledPID(GenericSubsystem subsystem, double setpoint, double source,
+                                               PIDSettings pidSettings, FeedForwardSettings feedForwardSettings,
+                                               TrapezoidProfileSettings trapezoidProfileSettings) {
+        this(subsystem, () -> setpoint, () -> source, pidSettings, feedForwardSettings, trapezoidProfileSettings);
+    }
+
+    public MoveGenericSubsystemWithProfiledPID(GenericSubsystem subsystem, Supplier<Double> setpoint,
+                                               Supplier<Double> source, PIDSettings pidSettings,
+                                               TrapezoidProfileSettings trapezoidProfileSettings) {
+        this(subsystem, setpoint, source, pidSettings, FeedForwardSettings.EMPTY_FFSETTINGS,
+                trapezoidProfileSettings);
+    }
+
+    public MoveGenericSubsystemWithProfiledPID(GenericSubsystem subsystem, double setpoint, double source,
+                                               PIDSettings pidSettings,
+                                               TrapezoidProfileSettings trapezoidProfileSettings) {
+        this(subsystem, () -> setpoint, () -> source, pidSettings, FeedForwardSettings.EMPTY_FFSETTINGS,
+                trapezoidProfileSettings);
+    }
+
+    @Override
+    public void initialize() {
+        pidController.reset();
+        feedForwardController.reset();
+        double now = Timer.getFPGATimestamp();
+        state = new TrapezoidProfile.State(source.get(), 0);
+        lastStateTime = now;
+        generateProfile(now);
+    }
+
+    @Override
+    protected double calculatePIDAndFFValues() {
+        applySettings();
+        double now = Timer.getFPGATimestamp();
+        double previousVelocity = state.velocity;
+        if (setpoint.get() != goal || trapezoidProfileSettings.getMaxVelocity() != maxVelocity ||
+                trapezoidProfileSettings.getAccelerationRate() != accelerationRate) {
+            state = calculateState(now);
+            generateProfile(now);
+        }
+        state = calculateState(now);
+        double period = now - lastStateTime;
+        double acceleration = period > 0 ? (state.velocity - previousVelocity) / period : 0;
+        lastStateTime = now;
+        double pidValue = pidController.calculate(source.get(), state.position);
+        double svagValue = feedForwardController.calculate(state.velocity, acceleration);
+        return pidValue + svagValue;
+    }
+
+    @Override
+    public boolean isFinished() {
+        double now = Timer.getFPGATimestamp();
+        if ((profile != null && !profile.isFinished(now - profileStartTime)) || !pidController.atSetpoint()) {
+            lastTimeNotOnTarget = now;
+        }
+        return now - lastTimeNotOnTarget >= pidSettings.getWaitTime();
+    }
+
+    /**
+     * @return the current position and velocity of the profile
+     */
+    public TrapezoidProfile.State getProfileState() {
+        return state;
+    }
+
+    /**
+     * Generates a profile from the current state to the current setpoint, with the current constraints. No profile
+     * is generated if either constraint is not positive.
+     */
+    private void generateProfile(double now) {
+        goal = setpoint.get();
+        maxVelocity = trapezoidProfileSettings.getMaxVelocity();
+        accelerationRate = trapezoidProfileSettings.getAccelerationRate();
+        profile = maxVelocity > 0 && accelerationRate > 0 ?
+                new TrapezoidProfile(new TrapezoidProfile.Constraints(maxVelocity, accelerationRate),
+                        new TrapezoidProfile.State(goal, 0), state) : null;
+        profileStartTime = now;
+    }
+
+    /**
+     * @return the state of the profile at the given time, or the setpoint if there is no profile
+     */
+    private TrapezoidProfile.State calculateState(double now) {
+        return profile == null ? new TrapezoidProfile.State(goal, 0) : profile.calculate(now - profileStartTime);
+    }
+}
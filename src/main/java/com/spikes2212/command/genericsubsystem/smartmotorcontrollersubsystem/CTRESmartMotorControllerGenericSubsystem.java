@@ -1,5 +1,6 @@
 package com.spikes2212.command.genericsubsystem.smartmotorcontrollersubsystem;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.DemandType;
 import com.ctre.phoenix.motorcontrol.IFollower;
 import com.ctre.phoenix.motorcontrol.can.BaseMotorController;
@@ -8,6 +9,8 @@ import com.spikes2212.command.DashboardedSubsystem;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
 import com.spikes2212.control.TrapezoidProfileSettings;
+import com.spikes2212.util.ConfigurationScheduler;
+import com.spikes2212.util.MotorControllerConfigCache;
 import com.spikes2212.util.UnifiedControlMode;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.wpilibj.motorcontrol.MotorController;
@@ -42,6 +45,11 @@ public class CTRESmartMotorControllerGenericSubsystem
      */
     protected final List<? extends IFollower> slaves;
 
+    /**
+     * The loop configurations that were last applied to the master.
+     */
+    private final MotorControllerConfigCache configCache = new MotorControllerConfigCache(LOOP_SLOT + 1);
+
     /**
      * Constructs a new instance of {@link CTRESmartMotorControllerGenericSubsystem}.
      *
@@ -65,35 +73,60 @@ public class CTRESmartMotorControllerGenericSubsystem
     }
 
     /**
-     * Configures the loop's PID constants and feed forward gains.
+     * Configures the loop's PID constants and feed forward gains. Only the values which have changed since they
+     * were last applied are sent to the motor controller.
      */
     @Override
     public void configPIDF(PIDSettings pidSettings, FeedForwardSettings feedForwardSettings) {
-        master.config_kP(LOOP_SLOT, pidSettings.getkP());
-        master.config_kI(LOOP_SLOT, pidSettings.getkI());
-        master.config_kD(LOOP_SLOT, pidSettings.getkD());
-        master.config_kF(LOOP_SLOT, feedForwardSettings.getkV());
+        configCache.configPIDF(master, LOOP_SLOT, pidSettings, feedForwardSettings);
     }
 
     /**
-     * Configures the loop's trapezoid profile settings.
+     * Configures the loop's trapezoid profile settings. Only the values which have changed since they were last
+     * applied are sent to the motor controller.
      */
     @Override
     public void configureTrapezoid(TrapezoidProfileSettings settings) {
-        master.configMotionAcceleration(settings.getAccelerationRate());
-        master.configMotionCruiseVelocity(settings.getMaxVelocity());
-        master.configMotionSCurveStrength(settings.getCurve());
+        configCache.configureTrapezoid(master, settings);
     }
 
     /**
-     * Configures the loop's settings.
+     * Configures the loop's settings, waiting for the motor controller to acknowledge every value.
      */
     @Override
     public void configureLoop(PIDSettings pidSettings, FeedForwardSettings feedForwardSettings,
                               TrapezoidProfileSettings trapezoidProfileSettings) {
         master.configFactoryDefault();
-        configPIDF(pidSettings, feedForwardSettings);
-        configureTrapezoid(trapezoidProfileSettings);
+        configCache.invalidate();
+        configCache.configPIDF(master, LOOP_SLOT, pidSettings, feedForwardSettings,
+                MotorControllerConfigCache.CTRE_TIMEOUT_MS);
+        configCache.configureTrapezoid(master, trapezoidProfileSettings, MotorControllerConfigCache.CTRE_TIMEOUT_MS);
+    }
+
+    /**
+     * Schedules the configuration of the loop's settings on the {@link ConfigurationScheduler}. The master is
+     * restored to its factory defaults, and then its gains and trapezoid profile settings are configured, each in a
+     * separate operation which runs only if the previous ones completed.
+     *
+     * @param pidSettings              the PID constants
+     * @param feedForwardSettings      the feed forward gains
+     * @param trapezoidProfileSettings the trapezoid profile settings
+     * @return the last scheduled task, which is done once the loop is configured
+     */
+    @Override
+    public ConfigurationScheduler.Task scheduleLoopConfiguration(PIDSettings pidSettings,
+                                                                 FeedForwardSettings feedForwardSettings,
+                                                                 TrapezoidProfileSettings trapezoidProfileSettings) {
+        ConfigurationScheduler.Task task = ConfigurationScheduler.schedule(getName() + " factory defaults", 1, () -> {
+            if (master.configFactoryDefault() != ErrorCode.OK) return false;
+            configCache.invalidate();
+            return true;
+        });
+        int timeout = MotorControllerConfigCache.CTRE_TIMEOUT_MS;
+        task = task.then(getName() + " PIDF", 4,
+                () -> configCache.configPIDF(master, LOOP_SLOT, pidSettings, feedForwardSettings, timeout));
+        return task.then(getName() + " trapezoid profile", 3,
+                () -> configCache.configureTrapezoid(master, trapezoidProfileSettings, timeout));
     }
 
     /**
@@ -3,6 +3,7 @@ package com.spikes2212.command.genericsubsystem.smartmotorcontrollersubsystem;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
 import com.spikes2212.control.TrapezoidProfileSettings;
+import com.spikes2212.util.ConfigurationScheduler;
 import com.spikes2212.util.UnifiedControlMode;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 
@@ -41,6 +42,28 @@ public interface SmartMotorControllerGenericSubsystem extends Subsystem {
         configureLoop(pidSettings, feedForwardSettings, TrapezoidProfileSettings.EMPTY_TRAPEZOID_PROFILE_SETTINGS);
     }
 
+    /**
+     * Schedules the configuration of the loop's settings on the {@link ConfigurationScheduler}, instead of
+     * configuring them immediately.
+     *
+     * <p>By default, {@link #configureLoop} is run as a single operation. Since it does not report failures, the
+     * operation is always considered successful: it is never retried, and the tasks that depend on it always run.
+     * Implementations whose configurations can fail should override this method and report the failures.</p>
+     *
+     * @param pidSettings              the PID constants
+     * @param feedForwardSettings      the feed forward gains
+     * @param trapezoidProfileSettings the trapezoid profile settings
+     * @return the last scheduled task, which is done once the loop is configured
+     */
+    default ConfigurationScheduler.Task scheduleLoopConfiguration(PIDSettings pidSettings,
+                                                                  FeedForwardSettings feedForwardSettings,
+                                                                  TrapezoidProfileSettings trapezoidProfileSettings) {
+        return ConfigurationScheduler.schedule(getClass().getSimpleName() + " loop", 8, () -> {
+            configureLoop(pidSettings, feedForwardSettings, trapezoidProfileSettings);
+            return true;
+        });
+    }
+
     /**
      * Updates any control loops running on the motor controller.
      *
@@ -1,11 +1,13 @@
 package com.spikes2212.command.genericsubsystem.smartmotorcontrollersubsystem;
 
 import com.revrobotics.CANSparkMax;
-import com.revrobotics.SparkMaxPIDController;
+import com.revrobotics.REVLibError;
 import com.spikes2212.command.DashboardedSubsystem;
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
 import com.spikes2212.control.TrapezoidProfileSettings;
+import com.spikes2212.util.ConfigurationScheduler;
+import com.spikes2212.util.MotorControllerConfigCache;
 import com.spikes2212.util.UnifiedControlMode;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
@@ -43,6 +45,12 @@ public class SparkMaxGenericSubsystem extends DashboardedSubsystem implements Sm
      */
     protected final List<CANSparkMax> slaves;
 
+    /**
+     * The loop configurations that were last applied to the master.
+     */
+    private final MotorControllerConfigCache configCache =
+            new MotorControllerConfigCache(Math.max(PID_SLOT, TRAPEZOID_SLOT_ID) + 1);
+
     /**
      * Constructs a new instance of {@link SparkMaxGenericSubsystem}.
      *
@@ -65,25 +73,21 @@ public class SparkMaxGenericSubsystem extends DashboardedSubsystem implements Sm
     }
 
     /**
-     * Configures the loop's PID constants and feed forward gains.
+     * Configures the loop's PID constants and feed forward gains. Only the values which have changed since they
+     * were last applied are sent to the motor controller.
      */
     @Override
     public void configPIDF(PIDSettings pidSettings, FeedForwardSettings feedForwardSettings) {
-        master.getPIDController().setFF(feedForwardSettings.getkV());
-        master.getPIDController().setP(pidSettings.getkP());
-        master.getPIDController().setI(pidSettings.getkI());
-        master.getPIDController().setD(pidSettings.getkD());
+        configCache.configPIDF(master, PID_SLOT, pidSettings, feedForwardSettings);
     }
 
     /**
-     * Configures the loop's trapezoid profile settings.
+     * Configures the loop's trapezoid profile settings. Only the values which have changed since they were last
+     * applied are sent to the motor controller.
      */
     @Override
     public void configureTrapezoid(TrapezoidProfileSettings settings) {
-        master.getPIDController().setSmartMotionMaxAccel(settings.getAccelerationRate(), TRAPEZOID_SLOT_ID);
-        master.getPIDController().setSmartMotionMaxVelocity(settings.getMaxVelocity(), TRAPEZOID_SLOT_ID);
-        master.getPIDController().setSmartMotionAccelStrategy(
-                SparkMaxPIDController.AccelStrategy.fromInt(settings.getCurve()), TRAPEZOID_SLOT_ID);
+        configCache.configureTrapezoid(master, TRAPEZOID_SLOT_ID, settings);
     }
 
     /**
@@ -93,10 +97,37 @@ public class SparkMaxGenericSubsystem extends DashboardedSubsystem implements Sm
     public void configureLoop(PIDSettings pidSettings, FeedForwardSettings feedForwardSettings,
                               TrapezoidProfileSettings trapezoidProfileSettings) {
         master.restoreFactoryDefaults();
+        configCache.invalidate();
         configPIDF(pidSettings, feedForwardSettings);
         configureTrapezoid(trapezoidProfileSettings);
     }
 
+    /**
+     * Schedules the configuration of the loop's settings on the {@link ConfigurationScheduler}. The master is
+     * restored to its factory defaults, and then its gains and trapezoid profile settings are configured, each in a
+     * separate operation which runs only if the previous ones completed.
+     *
+     * @param pidSettings              the PID constants
+     * @param feedForwardSettings      the feed forward gains
+     * @param trapezoidProfileSettings the trapezoid profile settings
+     * @return the last scheduled task, which is done once the loop is configured
+     */
+    @Override
+    public ConfigurationScheduler.Task scheduleLoopConfiguration(PIDSettings pidSettings,
+                                                                 FeedForwardSettings feedForwardSettings,
+                                                                 TrapezoidProfileSettings trapezoidProfileSettings) {
+        ConfigurationScheduler.Task task = ConfigurationScheduler.schedule(getName() + " factory defaults", 1, () -> {
+            if (master.restoreFactoryDefaults() != REVLibError.kOk) return false;
+            configCache.invalidate();
+            return true;
+        });
+        task = task.then(getName() + " PIDF", 4,
+                () -> configCache.configPIDF(master, PID_SLOT, pidSettings, feedForwardSettings));
+        return task.then(getName() + " trapezoid profile", 3,
+                () -> configCache.configureTrapezoid(master, TRAPEZOID_SLOT_ID,
+                        trapezoidProfileSettings));
+    }
+
     /**
      * Updates any control loops running on the motor controller.
      *
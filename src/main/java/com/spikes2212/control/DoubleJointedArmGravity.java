@@ -0,0 +1,69 @@
+package com.spikes2212.control;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * The gravity models of the joints of a double-jointed arm.
+ *
+ * <p>The torque gravity applies on the elbow depends on the absolute angle of the distal segment, while the
+ * torque it applies on the shoulder depends on the angles of both segments. The factors of the models are the
+ * torques in newton-meters, so the gravity constant of each joint's {@link FeedForwardController} should be the
+ * output needed to hold one newton-meter at that joint.</p>
+ */
+public class DoubleJointedArmGravity {
+
+    private static final double GRAVITY = 9.80665;
+
+    /**
+     * The torque at the shoulder of the proximal segment and of the distal segment's mass at the elbow, when the
+     * proximal segment is horizontal.
+     */
+    private final double proximalTorque;
+
+    /**
+     * The torque at the elbow of the distal segment when it is horizontal.
+     */
+    private final double distalTorque;
+
+    private final GravityModel shoulderModel;
+    private final GravityModel elbowModel;
+
+    /**
+     * Constructs a new instance of {@link DoubleJointedArmGravity}.
+     *
+     * @param shoulderAngle        the angle of the proximal segment from the horizontal, in radians
+     * @param elbowAngle           the angle of the distal segment relative to the proximal segment, in radians
+     * @param proximalMass         the mass of the proximal segment in kilograms
+     * @param proximalLength       the distance between the shoulder and the elbow in meters
+     * @param proximalCenterOfMass the distance between the shoulder and the proximal segment's center of mass in
+     *                             meters
+     * @param distalMass           the mass of the distal segment, including anything it carries, in kilograms
+     * @param distalCenterOfMass   the distance between the elbow and the distal segment's center of mass in meters
+     */
+    public DoubleJointedArmGravity(DoubleSupplier shoulderAngle, DoubleSupplier elbowAngle, double proximalMass,
+                                   double proximalLength, double proximalCenterOfMass, double distalMass,
+                                   double distalCenterOfMass) {
+        this.proximalTorque = GRAVITY * (proximalMass * proximalCenterOfMass + distalMass * proximalLength);
+        this.distalTorque = GRAVITY * distalMass * distalCenterOfMass;
+        this.shoulderModel = () -> {
+            double shoulder = shoulderAngle.getAsDouble();
+            return proximalTorque * Math.cos(shoulder) +
+                    distalTorque * Math.cos(shoulder + elbowAngle.getAsDouble());
+        };
+        this.elbowModel = () -> distalTorque * Math.cos(shoulderAngle.getAsDouble() + elbowAngle.getAsDouble());
+    }
+
+    /**
+     * @return the gravity model of the shoulder, whose factor is the torque at the shoulder in newton-meters
+     */
+    public GravityModel getShoulderModel() {
+        return shoulderModel;
+    }
+
+    /**
+     * @return the gravity model of the elbow, whose factor is the torque at the elbow in newton-meters
+     */
+    public GravityModel getElbowModel() {
+        return elbowModel;
+    }
+}
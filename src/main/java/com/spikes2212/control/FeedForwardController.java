@@ -1,5 +1,7 @@
 package com.spikes2212.control;
 
+import edu.wpi.first.wpilibj.Timer;
+
 /**
  * @author Tuval Rivkinind Barlev
  */
@@ -27,11 +29,27 @@ public class FeedForwardController {
      */
     private double kG;
 
+    /**
+     * The model by whose factor the gravity constant is multiplied.
+     */
+    private GravityModel gravityModel = GravityModel.CONSTANT;
+
+    /**
+     * The velocity around zero within which the static constant is not applied.
+     */
+    private double staticDeadband;
+
     /**
      * The previous target used for the derivative.
      */
     private double previousTarget;
 
+    /**
+     * The time the previous target was given at, or {@link Double#NaN} if no target was given since the last
+     * reset.
+     */
+    private double previousTimestamp = Double.NaN;
+
     /**
      * The calling period for the calculate function.
      */
@@ -56,6 +74,7 @@ public class FeedForwardController {
 
     public FeedForwardController(FeedForwardSettings settings, double period) {
         this(settings.getkS(), settings.getkV(), settings.getkA(), settings.getkG(), period);
+        this.gravityModel = settings.getGravityModel();
     }
 
     public void setGains(double kV, double kA) {
@@ -79,6 +98,7 @@ public class FeedForwardController {
     public void setGains(FeedForwardSettings feedForwardSettings) {
        setGains(feedForwardSettings.getkS(), feedForwardSettings.getkV(), feedForwardSettings.getkA(),
                feedForwardSettings.getkG());
+       this.gravityModel = feedForwardSettings.getGravityModel();
     }
 
     public double getkS() {
@@ -113,24 +133,75 @@ public class FeedForwardController {
         this.kG = kG;
     }
 
+    public GravityModel getGravityModel() {
+        return gravityModel;
+    }
+
+    public void setGravityModel(GravityModel gravityModel) {
+        this.gravityModel = gravityModel;
+    }
+
+    public double getStaticDeadband() {
+        return staticDeadband;
+    }
+
+    /**
+     * Sets the velocity around zero within which the static constant is not applied, so that a target velocity
+     * which is only noise around zero does not make the output jump between {@code -kS} and {@code kS}.
+     *
+     * @param staticDeadband the absolute velocity below which the static constant is not applied
+     */
+    public void setStaticDeadband(double staticDeadband) {
+        this.staticDeadband = staticDeadband;
+    }
+
     public double getPeriod() {
         return period;
     }
 
     public void reset() {
         this.previousTarget = 0;
+        this.previousTimestamp = Double.NaN;
     }
 
     /**
-     * Calculates the desired output using a simple feed forward method.
-     * This method should be called with the period given in the constructor.
+     * Calculates the desired output using a simple feed forward method, where the target acceleration is derived
+     * from the change in the target velocity since the previous call. The time between the calls is measured, and
+     * the period given in the constructor is used only when it cannot be. The first call after a reset assumes no
+     * acceleration. <br>
+     * When the target acceleration is known, such as when following a motion profile or a trajectory,
+     * {@link #calculate(double, double)} should be used instead.
      *
      * @param setpoint the target velocity
      * @return the desired output
      */
     public double calculate(double setpoint) {
-        double targetDerivative = (setpoint - previousTarget) / period;
+        double timestamp = Timer.getFPGATimestamp();
+        double targetDerivative = 0;
+        if (!Double.isNaN(previousTimestamp)) {
+            double dt = timestamp - previousTimestamp;
+            targetDerivative = (setpoint - previousTarget) / (dt > 0 ? dt : period);
+        }
         previousTarget = setpoint;
-        return kG + kS * Math.signum(setpoint) + kV * setpoint + kA * targetDerivative;
+        previousTimestamp = timestamp;
+        return getOutput(setpoint, targetDerivative);
+    }
+
+    /**
+     * Calculates the desired output using a simple feed forward method, with the given target acceleration.
+     *
+     * @param velocity     the target velocity
+     * @param acceleration the target acceleration
+     * @return the desired output
+     */
+    public double calculate(double velocity, double acceleration) {
+        previousTarget = velocity;
+        previousTimestamp = Timer.getFPGATimestamp();
+        return getOutput(velocity, acceleration);
+    }
+
+    private double getOutput(double velocity, double acceleration) {
+        double staticValue = Math.abs(velocity) > staticDeadband ? kS * Math.signum(velocity) : 0;
+        return kG * gravityModel.getFactor() + staticValue + kV * velocity + kA * acceleration;
     }
 }
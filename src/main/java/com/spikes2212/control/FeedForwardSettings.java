@@ -1,5 +1,7 @@
 package com.spikes2212.control;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -17,28 +19,56 @@ public class FeedForwardSettings {
     /**
      * The static constant
      */
-    private Supplier<Double> kS;
+    private DoubleSupplier kS;
 
     /**
      * The velocity constant
      */
-    private Supplier<Double> kV;
+    private DoubleSupplier kV;
 
     /**
      * The acceleration constant
      */
-    private Supplier<Double> kA;
+    private DoubleSupplier kA;
 
     /**
      * The gravity constant
      */
-    private Supplier<Double> kG;
+    private DoubleSupplier kG;
 
-    public FeedForwardSettings(Supplier<Double> kS, Supplier<Double> kV, Supplier<Double> kA, Supplier<Double> kG) {
+    /**
+     * The model by whose factor the gravity constant is multiplied
+     */
+    private GravityModel gravityModel = GravityModel.CONSTANT;
+
+    /**
+     * A number which changes whenever any of the values may have changed, or {@code null} if they are not tracked
+     */
+    private LongSupplier version;
+
+    /**
+     * Constructs new feed forward settings whose changes are tracked by the given version, so users of the settings
+     * can skip reapplying them when nothing has changed.
+     *
+     * @param kS      the static constant
+     * @param kV      the velocity constant
+     * @param kA      the acceleration constant
+     * @param kG      the gravity constant
+     * @param version a number which changes whenever any of the other suppliers' values may have changed, or
+     *                {@code null} if the changes are not tracked
+     */
+    public FeedForwardSettings(DoubleSupplier kS, DoubleSupplier kV, DoubleSupplier kA, DoubleSupplier kG,
+                               LongSupplier version) {
         this.kS = kS;
         this.kV = kV;
         this.kA = kA;
         this.kG = kG;
+        this.version = version;
+    }
+
+    public FeedForwardSettings(Supplier<Double> kS, Supplier<Double> kV, Supplier<Double> kA, Supplier<Double> kG) {
+        this(UnboxedSuppliers.of(kS), UnboxedSuppliers.of(kV), UnboxedSuppliers.of(kA), UnboxedSuppliers.of(kG),
+                null);
     }
 
     public FeedForwardSettings(Supplier<Double> kS, Supplier<Double> kV, Supplier<Double> kA) {
@@ -50,46 +80,74 @@ public class FeedForwardSettings {
     }
 
     public FeedForwardSettings(double kS, double kV, double kA) {
-        this(() -> kS, () -> kV, () -> kA, () -> 0.0);
+        this(kS, kV, kA, 0);
     }
 
     public FeedForwardSettings(double kV, double kA) {
-        this(() -> 0.0, () -> kV, () -> kA, () -> 0.0);
+        this(0, kV, kA, 0);
     }
 
     public FeedForwardSettings(double kS, double kV, double kA, double kG) {
-        this(() -> kS, () -> kV, () -> kA, () -> kG);
+        this(() -> kS, () -> kV, () -> kA, () -> kG, () -> 0L);
     }
 
     public double getkS() {
-        return kS.get();
+        return kS.getAsDouble();
     }
 
     public void setkS(Supplier<Double> kS) {
-        this.kS = kS;
+        this.kS = UnboxedSuppliers.of(kS);
+        this.version = null;
     }
 
     public double getkV() {
-        return kV.get();
+        return kV.getAsDouble();
     }
 
     public void setkV(Supplier<Double> kV) {
-        this.kV = kV;
+        this.kV = UnboxedSuppliers.of(kV);
+        this.version = null;
     }
 
     public double getkA() {
-        return kA.get();
+        return kA.getAsDouble();
     }
 
     public void setkA(Supplier<Double> kA) {
-        this.kA = kA;
+        this.kA = UnboxedSuppliers.of(kA);
+        this.version = null;
     }
 
     public double getkG() {
-        return kG.get();
+        return kG.getAsDouble();
     }
 
     public void setkG(Supplier<Double> kG) {
-        this.kG = kG;
+        this.kG = UnboxedSuppliers.of(kG);
+        this.version = null;
+    }
+
+    public GravityModel getGravityModel() {
+        return gravityModel;
+    }
+
+    /**
+     * Sets the model by whose factor the gravity constant is multiplied, such as {@link GravityModel#cosine} for a
+     * pivoting arm. By default, gravity is constant.
+     *
+     * @param gravityModel the gravity model
+     */
+    public void setGravityModel(GravityModel gravityModel) {
+        this.gravityModel = gravityModel;
+    }
+
+    /**
+     * Returns a number which changes whenever any of these settings' values may have changed. If it is equal to
+     * a previously returned version, the values have not changed since then.
+     *
+     * @return the current version, or {@link SettingsApplier#UNTRACKED_VERSION} if changes are not tracked
+     */
+    public long getVersion() {
+        return version == null ? SettingsApplier.UNTRACKED_VERSION : version.getAsLong();
     }
 }
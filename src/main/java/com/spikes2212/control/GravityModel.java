@@ -0,0 +1,44 @@
+package com.spikes2212.control;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Describes how the effect of gravity on a mechanism changes with its state. The gravity constant of a
+ * {@link FeedForwardController} is multiplied by the factor of its gravity model.
+ *
+ * @see FeedForwardSettings#setGravityModel(GravityModel)
+ */
+@FunctionalInterface
+public interface GravityModel {
+
+    /**
+     * A model for mechanisms which gravity affects the same way in any state, such as elevators.
+     */
+    GravityModel CONSTANT = () -> 1;
+
+    /**
+     * @return the factor by which the gravity constant is multiplied in the current state of the mechanism
+     */
+    double getFactor();
+
+    /**
+     * Returns a model for pivoting arms, where the effect of gravity is largest when the arm is horizontal and
+     * zero when it is vertical.
+     *
+     * @param angle the angle of the arm from the horizontal, in radians
+     * @return the model
+     */
+    static GravityModel cosine(DoubleSupplier angle) {
+        return () -> Math.cos(angle.getAsDouble());
+    }
+
+    /**
+     * Returns a model with a custom factor.
+     *
+     * @param factor the factor by which the gravity constant is multiplied
+     * @return the model
+     */
+    static GravityModel custom(DoubleSupplier factor) {
+        return factor::getAsDouble;
+    }
+}
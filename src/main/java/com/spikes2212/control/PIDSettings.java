@@ -1,5 +1,7 @@
 package com.spikes2212.control;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -14,35 +16,59 @@ public class PIDSettings {
     /**
      * the proportional component of the PID settings
      */
-    private Supplier<Double> kP;
+    private DoubleSupplier kP;
 
     /**
      * the integral component of the PID settings
      */
-    private Supplier<Double> kI;
+    private DoubleSupplier kI;
 
     /**
      * the derivative component of the PID settings
      */
-    private Supplier<Double> kD;
+    private DoubleSupplier kD;
 
     /**
      * the acceptable distance from the target
      */
-    private Supplier<Double> tolerance;
+    private DoubleSupplier tolerance;
 
     /**
      * the time required to stay on target
      */
-    private Supplier<Double> waitTime;
+    private DoubleSupplier waitTime;
 
-    public PIDSettings(Supplier<Double> kP, Supplier<Double> kI, Supplier<Double> kD, Supplier<Double> tolerance,
-                       Supplier<Double> waitTime) {
+    /**
+     * a number which changes whenever any of the values may have changed, or {@code null} if they are not tracked
+     */
+    private LongSupplier version;
+
+    /**
+     * Constructs new PID settings whose changes are tracked by the given version, so users of the settings
+     * can skip reapplying them when nothing has changed.
+     *
+     * @param kP        the proportional component
+     * @param kI        the integral component
+     * @param kD        the derivative component
+     * @param tolerance the acceptable distance from the target
+     * @param waitTime  the time required to stay on target
+     * @param version   a number which changes whenever any of the other suppliers' values may have changed, or
+     *                  {@code null} if the changes are not tracked
+     */
+    public PIDSettings(DoubleSupplier kP, DoubleSupplier kI, DoubleSupplier kD, DoubleSupplier tolerance,
+                       DoubleSupplier waitTime, LongSupplier version) {
         this.kP = kP;
         this.kI = kI;
         this.kD = kD;
         this.tolerance = tolerance;
         this.waitTime = waitTime;
+        this.version = version;
+    }
+
+    public PIDSettings(Supplier<Double> kP, Supplier<Double> kI, Supplier<Double> kD, Supplier<Double> tolerance,
+                       Supplier<Double> waitTime) {
+        this(UnboxedSuppliers.of(kP), UnboxedSuppliers.of(kI), UnboxedSuppliers.of(kD),
+                UnboxedSuppliers.of(tolerance), UnboxedSuppliers.of(waitTime), null);
     }
 
     public PIDSettings(double kP, double tolerance, double waitTime) {
@@ -50,7 +76,7 @@ public class PIDSettings {
     }
 
     public PIDSettings(double kP, double kI, double kD, double tolerance, double waitTime) {
-        this(() -> kP, () -> kI, () -> kD, () -> tolerance, () -> waitTime);
+        this(() -> kP, () -> kI, () -> kD, () -> tolerance, () -> waitTime, () -> 0L);
     }
 
     public PIDSettings(Supplier<Double> kP, Supplier<Double> tolerance, Supplier<Double> waitTime) {
@@ -58,42 +84,57 @@ public class PIDSettings {
     }
 
     public double getkP() {
-        return kP.get();
+        return kP.getAsDouble();
     }
 
     public void setkP(Supplier<Double> kP) {
-        this.kP = kP;
+        this.kP = UnboxedSuppliers.of(kP);
+        this.version = null;
     }
 
     public double getkI() {
-        return kI.get();
+        return kI.getAsDouble();
     }
 
     public void setkI(Supplier<Double> kI) {
-        this.kI = kI;
+        this.kI = UnboxedSuppliers.of(kI);
+        this.version = null;
     }
 
     public double getkD() {
-        return kD.get();
+        return kD.getAsDouble();
     }
 
     public void setkD(Supplier<Double> kD) {
-        this.kD = kD;
+        this.kD = UnboxedSuppliers.of(kD);
+        this.version = null;
     }
 
     public double getTolerance() {
-        return tolerance.get();
+        return tolerance.getAsDouble();
     }
 
     public void setTolerance(Supplier<Double> tolerance) {
-        this.tolerance = tolerance;
+        this.tolerance = UnboxedSuppliers.of(tolerance);
+        this.version = null;
     }
 
     public double getWaitTime() {
-        return waitTime.get();
+        return waitTime.getAsDouble();
     }
 
     public void setWaitTime(Supplier<Double> waitTime) {
-        this.waitTime = waitTime;
+        this.waitTime = UnboxedSuppliers.of(waitTime);
+        this.version = null;
+    }
+
+    /**
+     * Returns a number which changes whenever any of these settings' values may have changed. If it is equal to
+     * a previously returned version, the values have not changed since then.
+     *
+     * @return the current version, or {@link SettingsApplier#UNTRACKED_VERSION} if changes are not tracked
+     */
+    public long getVersion() {
+        return version == null ? SettingsApplier.UNTRACKED_VERSION : version.getAsLong();
     }
 }
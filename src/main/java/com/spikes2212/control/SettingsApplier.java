@@ -0,0 +1,51 @@
+package com.spikes2212.control;
+
+import edu.wpi.first.math.controller.PIDController;
+
+/**
+ * Applies {@link PIDSettings} or {@link FeedForwardSettings} to a controller, and skips reapplying them when their
+ * version shows they have not changed since they were last applied. Every controller should have its own applier.
+ */
+public class SettingsApplier {
+
+    /**
+     * The version of settings whose changes cannot be tracked, which are applied every time.
+     */
+    public static final long UNTRACKED_VERSION = -1;
+
+    /**
+     * The version of the settings that were last applied.
+     */
+    private long lastVersion = UNTRACKED_VERSION;
+
+    /**
+     * Applies the PID constants and tolerance to the given PID controller if they may have changed.
+     *
+     * @param settings   the PID settings
+     * @param controller the PID controller
+     */
+    public void apply(PIDSettings settings, PIDController controller) {
+        if (hasChanged(settings.getVersion())) {
+            controller.setTolerance(settings.getTolerance());
+            controller.setPID(settings.getkP(), settings.getkI(), settings.getkD());
+        }
+    }
+
+    /**
+     * Applies the gains to the given feed forward controller if they may have changed.
+     *
+     * @param settings   the feed forward settings
+     * @param controller the feed forward controller
+     */
+    public void apply(FeedForwardSettings settings, FeedForwardController controller) {
+        if (hasChanged(settings.getVersion())) {
+            controller.setGains(settings);
+        }
+    }
+
+    private boolean hasChanged(long version) {
+        if (version != UNTRACKED_VERSION && version == lastVersion) return false;
+        lastVersion = version;
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 package com.spikes2212.control;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -15,20 +17,20 @@ public class TrapezoidProfileSettings {
     public static final TrapezoidProfileSettings EMPTY_TRAPEZOID_PROFILE_SETTINGS =
             new TrapezoidProfileSettings(0, 0, 0);
 
-    private Supplier<Double> accelerationRate;
+    private DoubleSupplier accelerationRate;
 
-    private Supplier<Double> maxVelocity;
+    private DoubleSupplier maxVelocity;
 
     /**
      * The S curve of the acceleration phase. The scale changes depending on the motor controller.
      */
-    private Supplier<Integer> curve;
+    private IntSupplier curve;
 
     public TrapezoidProfileSettings(Supplier<Double> accelerationRate, Supplier<Double> maxVelocity,
                                     Supplier<Integer> curve) {
-        this.accelerationRate = accelerationRate;
-        this.maxVelocity = maxVelocity;
-        this.curve = curve;
+        this.accelerationRate = UnboxedSuppliers.of(accelerationRate);
+        this.maxVelocity = UnboxedSuppliers.of(maxVelocity);
+        this.curve = UnboxedSuppliers.ofInt(curve);
     }
 
     public TrapezoidProfileSettings(Supplier<Double> accelerationRate, Supplier<Double> maxVelocity) {
@@ -36,7 +38,9 @@ public class TrapezoidProfileSettings {
     }
 
     public TrapezoidProfileSettings(double accelerationRate, double maxVelocity, int curve) {
-        this(() -> accelerationRate, () -> maxVelocity, () -> curve);
+        this.accelerationRate = () -> accelerationRate;
+        this.maxVelocity = () -> maxVelocity;
+        this.curve = () -> curve;
     }
 
     public TrapezoidProfileSettings(double accelerationRate, double maxVelocity) {
@@ -44,26 +48,26 @@ public class TrapezoidProfileSettings {
     }
 
     public double getAccelerationRate() {
-        return accelerationRate.get();
+        return accelerationRate.getAsDouble();
     }
 
     public void setAccelerationRate(Supplier<Double> accelerationRate) {
-        this.accelerationRate = accelerationRate;
+        this.accelerationRate = UnboxedSuppliers.of(accelerationRate);
     }
 
     public double getMaxVelocity() {
-        return maxVelocity.get();
+        return maxVelocity.getAsDouble();
     }
 
     public void setMaxVelocity(Supplier<Double> maxVelocity) {
-        this.maxVelocity = maxVelocity;
+        this.maxVelocity = UnboxedSuppliers.of(maxVelocity);
     }
 
     public int getCurve() {
-        return curve.get();
+        return curve.getAsInt();
     }
 
     public void setCurve(Supplier<Integer> curve) {
-        this.curve = curve;
+        this.curve = UnboxedSuppliers.ofInt(curve);
     }
 }
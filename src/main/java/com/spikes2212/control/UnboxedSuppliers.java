@@ -0,0 +1,33 @@
+package com.spikes2212.control;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Adapts the boxed suppliers that the settings classes accept to the primitive suppliers they store, so values which
+ * can be read without boxing, such as tunable constants from a namespace, are not boxed on every read.
+ */
+final class UnboxedSuppliers {
+
+    private UnboxedSuppliers() {
+    }
+
+    /**
+     * @param supplier a Double supplier
+     * @return the supplier itself if it is also a {@link DoubleSupplier}, or a {@link DoubleSupplier} which unboxes
+     * its values otherwise
+     */
+    static DoubleSupplier of(Supplier<Double> supplier) {
+        return supplier instanceof DoubleSupplier ? (DoubleSupplier) supplier : supplier::get;
+    }
+
+    /**
+     * @param supplier an Integer supplier
+     * @return the supplier itself if it is also an {@link IntSupplier}, or an {@link IntSupplier} which unboxes its
+     * values otherwise
+     */
+    static IntSupplier ofInt(Supplier<Integer> supplier) {
+        return supplier instanceof IntSupplier ? (IntSupplier) supplier : supplier::get;
+    }
+}
@@ -0,0 +1,111 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by estimating the position and velocity of a value which changes at a
+ * roughly constant velocity, using an alpha-beta filter.
+ *
+ * <p>Every measurement is compared to the position predicted from the previous estimates, and both estimates are
+ * corrected by fixed fractions of the difference. Since the velocity is part of the model, following a moving value
+ * does not add lag like averaging does, and the velocity estimate is much less noisy than differencing the
+ * measurements. The filtered value is the position estimate; the velocity estimate is available as well.</p>
+ */
+public class AlphaBetaFilter implements NoiseFilter {
+
+    /**
+     * The fraction of the difference between the measurement and the prediction by which the position is corrected.
+     */
+    private final double alpha;
+
+    /**
+     * The fraction of the difference between the measurement and the prediction, per period, by which the velocity
+     * is corrected.
+     */
+    private final double beta;
+
+    /**
+     * The time in seconds between two measurements.
+     */
+    private final double period;
+
+    private double position;
+    private double velocity;
+    private boolean initialized;
+
+    /**
+     * Constructs a new instance of {@link AlphaBetaFilter}.
+     *
+     * @param alpha  the position correction gain, between 0 and 1
+     * @param beta   the velocity correction gain, between 0 and 2
+     * @param period the time in seconds between two measurements
+     */
+    public AlphaBetaFilter(double alpha, double beta, double period) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.period = period;
+    }
+
+    @Override
+    public double calculate(double measurement) {
+        if (!initialized) {
+            initialized = true;
+            position = measurement;
+            velocity = 0;
+            return position;
+        }
+        double predicted = position + velocity * period;
+        double residual = measurement - predicted;
+        position = predicted + alpha * residual;
+        velocity += beta / period * residual;
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        initialized = false;
+        position = 0;
+        velocity = 0;
+    }
+
+    /**
+     * @return the estimated position
+     */
+    public double getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the estimated velocity, in units per second
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Returns a {@link NoiseFilter} which gives this filter position measurements and returns its velocity
+     * estimates, for example to get the velocity of a mechanism from its encoder's position.
+     *
+     * @return the velocity filter
+     */
+    public NoiseFilter asVelocityFilter() {
+        return new NoiseFilter() {
+            @Override
+            public double calculate(double measurement) {
+                AlphaBetaFilter.this.calculate(measurement);
+                return velocity;
+            }
+
+            @Override
+            public void reset() {
+                AlphaBetaFilter.this.reset();
+            }
+        };
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+}
@@ -0,0 +1,38 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering using a one-dimensional Kalman filter which models a value that changes at
+ * a roughly constant velocity, disturbed by random accelerations.
+ *
+ * <p>Since the measurements come at a fixed period, the gains of the filter converge to constant values, which are
+ * computed once in the constructor from the noise levels. The filter is then an {@link AlphaBetaFilter} with the
+ * optimal gains, so every measurement costs a few multiplications and no allocations.</p>
+ */
+public class ConstantVelocityKalmanFilter extends AlphaBetaFilter {
+
+    /**
+     * Constructs a new instance of {@link ConstantVelocityKalmanFilter}.
+     *
+     * @param accelerationDeviation the standard deviation of the random accelerations of the value, in units per
+     *                              second squared. Higher values follow changes in velocity faster
+     * @param measurementDeviation  the standard deviation of the noise of the measurements. Higher values filter
+     *                              more noise
+     * @param period                the time in seconds between two measurements
+     */
+    public ConstantVelocityKalmanFilter(double accelerationDeviation, double measurementDeviation, double period) {
+        this(getSteadyStateAlpha(accelerationDeviation * period * period / measurementDeviation), period);
+    }
+
+    private ConstantVelocityKalmanFilter(double alpha, double period) {
+        super(alpha, 2 * (2 - alpha) - 4 * Math.sqrt(1 - alpha), period);
+    }
+
+    /**
+     * Computes the steady-state position gain from the tracking index, which is the ratio between the motion
+     * uncertainty and the measurement uncertainty during one period.
+     */
+    private static double getSteadyStateAlpha(double trackingIndex) {
+        double r = (4 + trackingIndex - Math.sqrt(8 * trackingIndex + trackingIndex * trackingIndex)) / 4;
+        return 1 - r * r;
+    }
+}
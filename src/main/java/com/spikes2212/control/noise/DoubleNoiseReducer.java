@@ -0,0 +1,35 @@
+package com.spikes2212.control.noise;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@link DoubleSupplier} which filters the values of another {@link DoubleSupplier}, like {@link NoiseReducer}
+ * but without boxing the values. Several filters can be applied in order using a {@link FilterChain}.
+ */
+public class DoubleNoiseReducer implements DoubleSupplier {
+
+    private final DoubleSupplier source;
+
+    private final NoiseFilter filter;
+
+    public DoubleNoiseReducer(DoubleSupplier source, NoiseFilter filter) {
+        this.source = source;
+        this.filter = filter;
+    }
+
+    public DoubleNoiseReducer(DoubleSupplier source, NoiseFilter... filters) {
+        this(source, new FilterChain(filters));
+    }
+
+    @Override
+    public double getAsDouble() {
+        return filter.calculate(source.getAsDouble());
+    }
+
+    /**
+     * Resets the filter, so the next value is filtered from scratch.
+     */
+    public void reset() {
+        filter.reset();
+    }
+}
@@ -0,0 +1,45 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by passing each measurement through several filters in order, such as a
+ * {@link MedianFilter} to remove spikes, then an {@link ExponentialFilter} to smooth the result, then a
+ * {@link RateLimitFilter}. The value is passed between the filters as a primitive.
+ *
+ * @see NoiseFilter#andThen(NoiseFilter)
+ */
+public class FilterChain implements NoiseFilter {
+
+    private final NoiseFilter[] filters;
+
+    /**
+     * Constructs a new instance of {@link FilterChain}.
+     *
+     * @param filters the filters, in the order they are applied
+     */
+    public FilterChain(NoiseFilter... filters) {
+        this.filters = filters.clone();
+    }
+
+    @Override
+    public double calculate(double measurement) {
+        for (NoiseFilter filter : filters) {
+            measurement = filter.calculate(measurement);
+        }
+        return measurement;
+    }
+
+    @Override
+    public void reset() {
+        for (NoiseFilter filter : filters) {
+            filter.reset();
+        }
+    }
+
+    @Override
+    public NoiseFilter andThen(NoiseFilter next) {
+        NoiseFilter[] filters = new NoiseFilter[this.filters.length + 1];
+        System.arraycopy(this.filters, 0, filters, 0, this.filters.length);
+        filters[this.filters.length] = next;
+        return new FilterChain(filters);
+    }
+}
@@ -0,0 +1,49 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering using a first-order low-pass filter with a given cutoff frequency.
+ *
+ * <p>Unlike {@link ExponentialFilter}, whose weight applies per call, the weight of each measurement here is
+ * derived from the time that passed since the previous one, so the filter's response is the same at any loop
+ * rate.</p>
+ */
+public class LowPassFilter extends TimedNoiseFilter {
+
+    /**
+     * The time constant of the filter in seconds.
+     */
+    private final double timeConstant;
+
+    private double previous;
+    private double lastTimestamp;
+    private boolean initialized;
+
+    /**
+     * Constructs a new instance of {@link LowPassFilter}.
+     *
+     * @param cutoffFrequency the frequency in hertz above which changes are attenuated
+     */
+    public LowPassFilter(double cutoffFrequency) {
+        this.timeConstant = 1 / (2 * Math.PI * cutoffFrequency);
+    }
+
+    @Override
+    public double calculate(double measurement, double timestamp) {
+        if (!initialized) {
+            initialized = true;
+            previous = measurement;
+        } else {
+            double dt = timestamp - lastTimestamp;
+            if (dt > 0) {
+                previous += (1 - Math.exp(-dt / timeConstant)) * (measurement - previous);
+            }
+        }
+        lastTimestamp = timestamp;
+        return previous;
+    }
+
+    @Override
+    public void reset() {
+        initialized = false;
+    }
+}
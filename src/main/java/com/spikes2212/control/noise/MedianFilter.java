@@ -0,0 +1,161 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by taking the median of the last measurements in a window of a fixed size,
+ * which ignores short spikes completely, unlike an average.
+ *
+ * <p>The window is split between two heaps: a max-heap of its lower half and a min-heap of its upper half, so the
+ * median is always at the top of the heaps. Every measurement knows its position in its heap, so the oldest
+ * measurement can be removed from the middle of a heap when it leaves the window. Each calculation takes
+ * logarithmic time and allocates nothing. Until the window fills up, the median is of the measurements so far.</p>
+ */
+public class MedianFilter implements NoiseFilter {
+
+    /**
+     * The measurements in the window, in a ring buffer.
+     */
+    private final double[] values;
+
+    /**
+     * The positions in the ring buffer of the measurements in the lower and upper halves of the window, as heaps.
+     */
+    private final int[] lowerHeap;
+    private final int[] upperHeap;
+    private int lowerSize;
+    private int upperSize;
+
+    /**
+     * The position of every measurement in its heap, and whether it is in the lower heap.
+     */
+    private final int[] heapPositions;
+    private final boolean[] inLowerHeap;
+
+    private int index;
+    private int size;
+
+    /**
+     * Constructs a new instance of {@link MedianFilter}.
+     *
+     * @param windowSize the amount of measurements the median is taken of
+     */
+    public MedianFilter(int windowSize) {
+        if (windowSize < 1) throw new IllegalArgumentException("The window size must be positive.");
+        values = new double[windowSize];
+        lowerHeap = new int[windowSize];
+        upperHeap = new int[windowSize];
+        heapPositions = new int[windowSize];
+        inLowerHeap = new boolean[windowSize];
+    }
+
+    @Override
+    public double calculate(double measurement) {
+        if (size == values.length) {
+            remove(index);
+        } else {
+            size++;
+        }
+        values[index] = measurement;
+        if (lowerSize == 0 || measurement <= values[lowerHeap[0]]) {
+            push(true, index);
+        } else {
+            push(false, index);
+        }
+        balance();
+        index = (index + 1) % values.length;
+        if (lowerSize > upperSize) return values[lowerHeap[0]];
+        return (values[lowerHeap[0]] + values[upperHeap[0]]) / 2;
+    }
+
+    @Override
+    public void reset() {
+        lowerSize = 0;
+        upperSize = 0;
+        index = 0;
+        size = 0;
+    }
+
+    /**
+     * Moves measurements between the heaps so the lower heap has as many measurements as the upper heap, or one
+     * more.
+     */
+    private void balance() {
+        if (lowerSize > upperSize + 1) {
+            push(false, pop(true));
+        } else if (upperSize > lowerSize) {
+            push(true, pop(false));
+        }
+    }
+
+    private void push(boolean lower, int slot) {
+        int[] heap = lower ? lowerHeap : upperHeap;
+        int position = lower ? lowerSize++ : upperSize++;
+        heap[position] = slot;
+        heapPositions[slot] = position;
+        inLowerHeap[slot] = lower;
+        siftUp(lower, position);
+    }
+
+    private int pop(boolean lower) {
+        int[] heap = lower ? lowerHeap : upperHeap;
+        int slot = heap[0];
+        remove(slot);
+        return slot;
+    }
+
+    /**
+     * Removes a measurement from the heap it is in.
+     *
+     * @param slot the position of the measurement in the ring buffer
+     */
+    private void remove(int slot) {
+        boolean lower = inLowerHeap[slot];
+        int[] heap = lower ? lowerHeap : upperHeap;
+        int position = heapPositions[slot];
+        int last = lower ? --lowerSize : --upperSize;
+        if (position != last) {
+            int moved = heap[last];
+            heap[position] = moved;
+            heapPositions[moved] = position;
+            siftUp(lower, position);
+            if (heapPositions[moved] == position) siftDown(lower, position);
+        }
+    }
+
+    /**
+     * @return whether the measurement in the first slot belongs above the one in the second slot in the given heap
+     */
+    private boolean isAbove(boolean lower, int first, int second) {
+        return lower ? values[first] > values[second] : values[first] < values[second];
+    }
+
+    private void siftUp(boolean lower, int position) {
+        int[] heap = lower ? lowerHeap : upperHeap;
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!isAbove(lower, heap[position], heap[parent])) return;
+            swap(heap, position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(boolean lower, int position) {
+        int[] heap = lower ? lowerHeap : upperHeap;
+        int size = lower ? lowerSize : upperSize;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) return;
+            if (child + 1 < size && isAbove(lower, heap[child + 1], heap[child])) child++;
+            if (!isAbove(lower, heap[child], heap[position])) return;
+            swap(heap, position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int[] heap, int first, int second) {
+        int slot = heap[first];
+        heap[first] = heap[second];
+        heap[second] = slot;
+        heapPositions[heap[first]] = first;
+        heapPositions[heap[second]] = second;
+    }
+}
@@ -0,0 +1,61 @@
+package com.spikes2212.control.noise;
+
+/**
+ * The base of the filters which return the extremum of the last measurements in a window of a fixed size.
+ *
+ * <p>The candidates for the extremum are kept in a monotonic deque: a measurement is dropped as soon as a newer
+ * measurement that is at least as extreme arrives, since it can never be the extremum again. Each calculation takes
+ * amortized constant time and allocates nothing.</p>
+ */
+abstract class MonotonicWindowFilter implements NoiseFilter {
+
+    private final int windowSize;
+
+    /**
+     * The candidates and their indices in the stream of measurements, in a ring buffer, from oldest to newest.
+     */
+    private final double[] values;
+    private final long[] indices;
+    private int head;
+    private int count;
+
+    /**
+     * The index of the next measurement.
+     */
+    private long nextIndex;
+
+    MonotonicWindowFilter(int windowSize) {
+        if (windowSize < 1) throw new IllegalArgumentException("The window size must be positive.");
+        this.windowSize = windowSize;
+        this.values = new double[windowSize];
+        this.indices = new long[windowSize];
+    }
+
+    /**
+     * @return whether the first value is more extreme than the second one
+     */
+    abstract boolean isMoreExtreme(double first, double second);
+
+    @Override
+    public double calculate(double measurement) {
+        if (count > 0 && indices[head] <= nextIndex - windowSize) {
+            head = (head + 1) % windowSize;
+            count--;
+        }
+        while (count > 0 && !isMoreExtreme(values[(head + count - 1) % windowSize], measurement)) {
+            count--;
+        }
+        int tail = (head + count) % windowSize;
+        values[tail] = measurement;
+        indices[tail] = nextIndex++;
+        count++;
+        return values[head];
+    }
+
+    @Override
+    public void reset() {
+        head = 0;
+        count = 0;
+        nextIndex = 0;
+    }
+}
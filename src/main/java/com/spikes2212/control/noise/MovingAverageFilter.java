@@ -0,0 +1,58 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by averaging the last measurements in a window of a fixed size.
+ *
+ * <p>The measurements are kept in a ring buffer and the sum is updated with every measurement, so each calculation
+ * takes constant time and allocates nothing. Until the window fills up, the average is of the measurements so far.
+ * </p>
+ */
+public class MovingAverageFilter implements NoiseFilter {
+
+    private final double[] window;
+    private int index;
+    private int size;
+    private double sum;
+
+    /**
+     * Constructs a new instance of {@link MovingAverageFilter}.
+     *
+     * @param windowSize the amount of measurements that are averaged
+     */
+    public MovingAverageFilter(int windowSize) {
+        if (windowSize < 1) throw new IllegalArgumentException("The window size must be positive.");
+        this.window = new double[windowSize];
+    }
+
+    @Override
+    public double calculate(double measurement) {
+        if (size == window.length) {
+            sum -= window[index];
+        } else {
+            size++;
+        }
+        window[index] = measurement;
+        sum += measurement;
+        index++;
+        if (index == window.length) {
+            index = 0;
+            // adding and subtracting accumulates rounding errors, so the sum is recalculated once per window
+            recalculateSum();
+        }
+        return sum / size;
+    }
+
+    @Override
+    public void reset() {
+        index = 0;
+        size = 0;
+        sum = 0;
+    }
+
+    private void recalculateSum() {
+        sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += window[i];
+        }
+    }
+}
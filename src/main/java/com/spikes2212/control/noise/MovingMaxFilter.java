@@ -0,0 +1,22 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by taking the maximum of the last measurements in a window of a fixed size,
+ * for example to hold the peak of a current reading.
+ */
+public class MovingMaxFilter extends MonotonicWindowFilter {
+
+    /**
+     * Constructs a new instance of {@link MovingMaxFilter}.
+     *
+     * @param windowSize the amount of measurements the maximum is taken of
+     */
+    public MovingMaxFilter(int windowSize) {
+        super(windowSize);
+    }
+
+    @Override
+    boolean isMoreExtreme(double first, double second) {
+        return first > second;
+    }
+}
@@ -0,0 +1,21 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by taking the minimum of the last measurements in a window of a fixed size.
+ */
+public class MovingMinFilter extends MonotonicWindowFilter {
+
+    /**
+     * Constructs a new instance of {@link MovingMinFilter}.
+     *
+     * @param windowSize the amount of measurements the minimum is taken of
+     */
+    public MovingMinFilter(int windowSize) {
+        super(windowSize);
+    }
+
+    @Override
+    boolean isMoreExtreme(double first, double second) {
+        return first < second;
+    }
+}
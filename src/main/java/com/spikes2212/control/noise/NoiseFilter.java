@@ -11,4 +11,21 @@ public interface NoiseFilter {
      * A noise-filtering calculation
      */
     double calculate(double measurement);
+
+    /**
+     * Forgets all the previous measurements, so the next calculation starts from scratch. Filters that do not
+     * remember previous measurements do not need to override this method.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Creates a filter which passes the output of this filter through the given filter.
+     *
+     * @param next the filter that is applied after this one
+     * @return a {@link FilterChain} of this filter and the given filter
+     */
+    default NoiseFilter andThen(NoiseFilter next) {
+        return new FilterChain(this, next);
+    }
 }
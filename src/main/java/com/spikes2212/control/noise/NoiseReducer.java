@@ -20,4 +20,11 @@ public class NoiseReducer implements Supplier<Double> {
     public Double get() {
         return filter.calculate(source.get());
     }
+
+    /**
+     * Resets the filter, so the next value is filtered from scratch.
+     */
+    public void reset() {
+        filter.reset();
+    }
 }
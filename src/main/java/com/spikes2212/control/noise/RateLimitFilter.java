@@ -0,0 +1,67 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by limiting how fast the filtered value can change between measurements.
+ *
+ * <p>The time between measurements is either a fixed period, or measured from the measurements' timestamps.</p>
+ */
+public class RateLimitFilter extends TimedNoiseFilter {
+
+    /**
+     * The maximum change of the value per second.
+     */
+    private final double maxRate;
+
+    /**
+     * The time in seconds between two measurements, or {@link Double#NaN} if it is measured.
+     */
+    private final double period;
+
+    private double previous;
+    private double lastTimestamp;
+    private boolean initialized;
+
+    /**
+     * Constructs a new instance of {@link RateLimitFilter}.
+     *
+     * @param maxRate the maximum change of the value per second
+     * @param period  the time in seconds between two measurements
+     */
+    public RateLimitFilter(double maxRate, double period) {
+        this.maxRate = maxRate;
+        this.period = period;
+    }
+
+    /**
+     * Constructs a new instance of {@link RateLimitFilter} which measures the time between measurements.
+     *
+     * @param maxRate the maximum change of the value per second
+     */
+    public RateLimitFilter(double maxRate) {
+        this(maxRate, Double.NaN);
+    }
+
+    @Override
+    public double calculate(double measurement) {
+        return Double.isNaN(period) ? super.calculate(measurement) : calculate(measurement, 0);
+    }
+
+    @Override
+    public double calculate(double measurement, double timestamp) {
+        if (!initialized) {
+            initialized = true;
+            previous = measurement;
+        } else {
+            double dt = Double.isNaN(period) ? Math.max(0, timestamp - lastTimestamp) : period;
+            double maxChange = maxRate * dt;
+            previous += Math.max(-maxChange, Math.min(maxChange, measurement - previous));
+        }
+        lastTimestamp = timestamp;
+        return previous;
+    }
+
+    @Override
+    public void reset() {
+        initialized = false;
+    }
+}
@@ -0,0 +1,79 @@
+package com.spikes2212.control.noise;
+
+/**
+ * A class that handles noise-filtering by averaging the measurements over a window of a fixed duration.
+ *
+ * <p>Each measurement is weighted by the time that passed since the previous one, so a loop overrun does not give
+ * the measurements around it more or less weight than they deserve, and the window covers the same time at any
+ * loop rate. The measurements are kept in a ring buffer of a fixed capacity, which should hold at least as many
+ * measurements as are taken during the window.</p>
+ */
+public class TimeWeightedMovingAverageFilter extends TimedNoiseFilter {
+
+    /**
+     * The default amount of measurements that are kept.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final double windowDuration;
+    private final double[] values;
+    private final double[] timestamps;
+    private int head;
+    private int count;
+
+    /**
+     * Constructs a new instance of {@link TimeWeightedMovingAverageFilter}.
+     *
+     * @param windowDuration the duration of the window in seconds
+     * @param capacity       the maximum amount of measurements that are kept
+     */
+    public TimeWeightedMovingAverageFilter(double windowDuration, int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("The capacity must be at least 2.");
+        this.windowDuration = windowDuration;
+        this.values = new double[capacity];
+        this.timestamps = new double[capacity];
+    }
+
+    /**
+     * Constructs a new instance of {@link TimeWeightedMovingAverageFilter} with the default capacity.
+     *
+     * @param windowDuration the duration of the window in seconds
+     */
+    public TimeWeightedMovingAverageFilter(double windowDuration) {
+        this(windowDuration, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public double calculate(double measurement, double timestamp) {
+        int capacity = values.length;
+        if (count == capacity) {
+            head = (head + 1) % capacity;
+            count--;
+        }
+        int tail = (head + count) % capacity;
+        values[tail] = measurement;
+        timestamps[tail] = timestamp;
+        count++;
+        double start = timestamp - windowDuration;
+        // the oldest measurement is kept only as the start of the second one's interval
+        while (count >= 2 && timestamps[(head + 1) % capacity] <= start) {
+            head = (head + 1) % capacity;
+            count--;
+        }
+        double weightedSum = 0;
+        double totalWeight = 0;
+        for (int i = 1; i < count; i++) {
+            int index = (head + i) % capacity;
+            double weight = timestamps[index] - Math.max(timestamps[(head + i - 1) % capacity], start);
+            weightedSum += values[index] * weight;
+            totalWeight += weight;
+        }
+        return totalWeight > 0 ? weightedSum / totalWeight : measurement;
+    }
+
+    @Override
+    public void reset() {
+        head = 0;
+        count = 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.spikes2212.control.noise;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * The base of the filters whose response depends on the time between measurements rather than on the amount of
+ * measurements, so they behave the same regardless of how often they are called, and are not distorted by loop
+ * overruns.
+ *
+ * <p>By default, every measurement is timestamped using the FPGA timestamp. Measurements can also be given
+ * explicit timestamps, for example when replaying recorded data.</p>
+ */
+public abstract class TimedNoiseFilter implements NoiseFilter {
+
+    @Override
+    public double calculate(double measurement) {
+        return calculate(measurement, Timer.getFPGATimestamp());
+    }
+
+    /**
+     * A noise-filtering calculation of a measurement that was taken at the given time.
+     *
+     * @param measurement the measurement
+     * @param timestamp   the time in seconds the measurement was taken at
+     * @return the filtered value
+     */
+    public abstract double calculate(double measurement, double timestamp);
+}
@@ -1,14 +1,21 @@
 package com.spikes2212.dashboard;
 
+import com.spikes2212.command.Prewarmable;
+import edu.wpi.first.util.sendable.SendableBuilder;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj2.command.Command;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * A class that extends {@link SendableChooser} in order to make an autonomous command chooser.
  *
+ * <p>Whenever the selection changes while the robot is disabled, the selected command is pre-warmed on a
+ * background thread if it is {@link Prewarmable}.</p>
+ *
  * @author Ofri Rosenbaum
  * @see SendableChooser
  */
@@ -41,6 +48,16 @@ public class AutoChooser extends SendableChooser<Command> {
      */
     private final HashSet<String> names = new HashSet<>();
 
+    /**
+     * The command which was selected when the selection was last checked.
+     */
+    private Command lastSelected;
+
+    /**
+     * The pre-warming of the selected command, or {@code null} if it was never started.
+     */
+    private Future<?> prewarming;
+
     /**
      * Creates an {@link AutoChooser} from the given commands, where the first command will be the default option and
      * the rest of the commands will be the rest of the options.
@@ -174,13 +191,34 @@ public class AutoChooser extends SendableChooser<Command> {
     }
 
     /**
-     * Schedules the selected command and closes this {@link AutoChooser}.
+     * Schedules the selected command and closes this {@link AutoChooser}. If the command is still being pre-warmed,
+     * waits a short while for the pre-warming to finish first, and schedules the command without it otherwise.
      */
     public void schedule() {
+        AutonomousPrewarmer.await(prewarming);
         getSelected().schedule();
         close();
     }
 
+    @Override
+    public void initSendable(SendableBuilder builder) {
+        super.initSendable(builder);
+        builder.setUpdateTable(this::checkSelection);
+    }
+
+    /**
+     * Starts pre-warming the selected command in the background if the selection has changed while the robot is
+     * disabled.
+     */
+    private void checkSelection() {
+        Command selected = getSelected();
+        if (selected == lastSelected || !DriverStation.isDisabled()) return;
+        lastSelected = selected;
+        if (selected instanceof Prewarmable) {
+            prewarming = AutonomousPrewarmer.submit(() -> AutonomousPrewarmer.prewarm(selected));
+        }
+    }
+
     /**
      * @param num a positive number
      * @return the correct suffix for the given number
@@ -202,6 +240,6 @@ public class AutoChooser extends SendableChooser<Command> {
     }
 
     private void putOnShuffleboard() {
-        namespace.putData("auto chooser", this);
+        namespace.putData("auto chooser", this, SendableUpdatePolicy.whileDisabled());
     }
 }
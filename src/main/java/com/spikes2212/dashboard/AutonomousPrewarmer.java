@@ -0,0 +1,83 @@
+package com.spikes2212.dashboard;
+
+import com.spikes2212.command.Prewarmable;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.Command;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pre-warms the selected autonomous commands of the autonomous choosers on a background thread. The commands
+ * themselves are built on the robot thread, since building commands (such as command groups) changes the state of
+ * the command scheduler, which is not thread safe.
+ *
+ * @see Prewarmable
+ */
+class AutonomousPrewarmer {
+
+    /**
+     * The maximum time in milliseconds the robot thread waits for a preparation when the autonomous period starts.
+     */
+    public static final long AWAIT_TIMEOUT_MS = 100;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Autonomous Prewarmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AutonomousPrewarmer() {
+    }
+
+    /**
+     * Runs a task on the background thread.
+     *
+     * @param task the task
+     * @return the pending result of the task
+     */
+    static Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Pre-warms the given command, if it is {@link Prewarmable}.
+     *
+     * @param command the command
+     */
+    static void prewarm(Command command) {
+        if (command instanceof Prewarmable) {
+            ((Prewarmable) command).prewarm();
+        }
+    }
+
+    /**
+     * Waits until the given task is done, so the command it prepares is not used while it is being prepared. The
+     * wait is limited to {@link #AWAIT_TIMEOUT_MS}, after which the task is cancelled. Failures and timeouts of the
+     * task are reported to the driver station.
+     *
+     * @param task the pending task, or {@code null}
+     * @return whether the task finished successfully, or {@code true} if there is no task
+     */
+    static boolean await(Future<?> task) {
+        if (task == null) return true;
+        try {
+            task.get(AWAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            DriverStation.reportError("Failed to prepare the autonomous command: " + e.getCause(),
+                    e.getCause().getStackTrace());
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            DriverStation.reportWarning("The autonomous command was not prepared within " + AWAIT_TIMEOUT_MS +
+                    " ms, and is used without waiting for its preparation", false);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,159 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.util.sendable.SendableBuilder;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj2.command.Command;
+
+import java.util.HashSet;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * An autonomous command chooser, like {@link AutoChooser}, whose options are factories of commands instead of
+ * commands, so only the command of the selected option is ever built.
+ *
+ * <p>The selected command is built when it is first needed and cached. If pre-building is enabled, the command is
+ * built as soon as it is selected while the robot is disabled, and pre-warmed on a background thread if it is
+ * {@link com.spikes2212.command.Prewarmable}, so it is ready by the time the autonomous period starts. The command
+ * is always built on the robot thread, since building commands changes the state of the command scheduler.</p>
+ *
+ * @see AutoChooser
+ */
+public class LazyAutoChooser extends SendableChooser<Supplier<Command>> {
+
+    /**
+     * The default name that will be given to the {@link Namespace} in case no name was given in the constructor.
+     */
+    public static final String DEFAULT_NAMESPACE_NAME = AutoChooser.DEFAULT_NAMESPACE_NAME;
+
+    /**
+     * The {@link Namespace} that this {@link LazyAutoChooser} will be on.
+     */
+    protected final Namespace namespace;
+
+    /**
+     * A {@link HashSet} that contains the names of all the options in this {@link LazyAutoChooser}.
+     */
+    private final HashSet<String> names = new HashSet<>();
+
+    /**
+     * Whether the selected command is built and pre-warmed while the robot is disabled.
+     */
+    private final boolean prebuild;
+
+    /**
+     * The option whose command was last built, and the command that was built.
+     */
+    private Supplier<Command> builtOption;
+    private Command builtCommand;
+
+    /**
+     * The option which was selected when the selection was last checked.
+     */
+    private Supplier<Command> lastSelected;
+
+    /**
+     * The building and pre-warming of the selected command, or {@code null} if it was never started.
+     */
+    private Future<?> preparation;
+
+    /**
+     * Creates a {@link LazyAutoChooser} with the given default option. More options can be added using
+     * {@link #addOption(String, Supplier)}.
+     *
+     * @param namespace     the namespace that this {@link LazyAutoChooser} will be on
+     * @param prebuild      whether to build and pre-warm the selected command while the robot is disabled
+     * @param defaultName   the name of the default option
+     * @param defaultOption builds the command of the default option
+     */
+    public LazyAutoChooser(Namespace namespace, boolean prebuild, String defaultName,
+                           Supplier<Command> defaultOption) {
+        this.namespace = namespace;
+        this.prebuild = prebuild;
+        names.add(defaultName);
+        setDefaultOption(defaultName, defaultOption);
+        namespace.putData("auto chooser", this, SendableUpdatePolicy.whileDisabled());
+    }
+
+    /**
+     * Creates a {@link LazyAutoChooser} with the given default option, which pre-builds the selected command. More
+     * options can be added using {@link #addOption(String, Supplier)}.
+     *
+     * @param defaultName   the name of the default option
+     * @param defaultOption builds the command of the default option
+     */
+    public LazyAutoChooser(String defaultName, Supplier<Command> defaultOption) {
+        this(new RootNamespace(DEFAULT_NAMESPACE_NAME), true, defaultName, defaultOption);
+    }
+
+    /**
+     * Adds the given command factory with the given name as an option to this {@link LazyAutoChooser}. <br>
+     * If this name already exists, a number will be added to differentiate between the options.
+     */
+    @Override
+    public void addOption(String name, Supplier<Command> option) {
+        if (!names.add(name)) {
+            String originalName = name;
+            int i = 2;
+            name += " " + i;
+            while (!names.add(name)) {
+                i++;
+                name = originalName + " " + i;
+            }
+        }
+        super.addOption(name, option);
+    }
+
+    /**
+     * Returns the command of the selected option, and builds it if it has not been built yet. Only the command of
+     * the latest selection is kept.
+     *
+     * @return the selected command
+     */
+    public Command getCommand() {
+        return build(getSelected());
+    }
+
+    /**
+     * Schedules the selected command and closes this {@link LazyAutoChooser}. If the command is still being
+     * pre-warmed, waits a short while for the pre-warming to finish first, and schedules the command without it
+     * otherwise.
+     */
+    public void schedule() {
+        AutonomousPrewarmer.await(preparation);
+        getCommand().schedule();
+        close();
+    }
+
+    @Override
+    public void initSendable(SendableBuilder builder) {
+        super.initSendable(builder);
+        builder.setUpdateTable(this::checkSelection);
+    }
+
+    /**
+     * Builds the selected command and starts pre-warming it in the background if the selection has changed while
+     * the robot is disabled. Called on the robot thread.
+     */
+    private void checkSelection() {
+        Supplier<Command> selected = getSelected();
+        if (!prebuild || selected == lastSelected || !DriverStation.isDisabled()) return;
+        lastSelected = selected;
+        if (preparation != null) preparation.cancel(true);
+        Command command = build(selected);
+        preparation = AutonomousPrewarmer.submit(() -> AutonomousPrewarmer.prewarm(command));
+    }
+
+    private Command build(Supplier<Command> option) {
+        if (option != builtOption) {
+            // lets the previous command be collected while the next one is built
+            builtOption = null;
+            builtCommand = null;
+            Command command = option.get();
+            builtCommand = command;
+            builtOption = option;
+        }
+        return builtCommand;
+    }
+}
@@ -2,12 +2,16 @@ package com.spikes2212.dashboard;
 
 import com.spikes2212.control.FeedForwardSettings;
 import com.spikes2212.control.PIDSettings;
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.util.sendable.Sendable;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -21,9 +25,10 @@ public interface Namespace {
      *
      * @param name  the key that will be given to the value
      * @param value the initial value to be added
-     * @return a {@link Supplier} with the value set using the {@link NetworkTable}s
+     * @return a {@link TunableDouble} with the value set using the {@link NetworkTable}s, which can also be read
+     * without boxing
      */
-    Supplier<Double> addConstantDouble(String name, double value);
+    TunableDouble addConstantDouble(String name, double value);
 
     /**
      * Adds an Integer {@link Supplier} to the namespace, whose value can only be changed by a {@link NetworkTable}s UI,
@@ -31,9 +36,10 @@ public interface Namespace {
      *
      * @param name  the key that will be given to the value
      * @param value the initial value to be added
-     * @return a {@link Supplier} with the value set using the {@link NetworkTable}s
+     * @return a {@link TunableInt} with the value set using the {@link NetworkTable}s, which can also be read
+     * without boxing
      */
-    Supplier<Integer> addConstantInt(String name, int value);
+    TunableInt addConstantInt(String name, int value);
 
     /**
      * Adds a String {@link Supplier} to the namespace, whose value can only be changed by a {@link NetworkTable}s UI,
@@ -41,9 +47,9 @@ public interface Namespace {
      *
      * @param name  the key that will be given to the value
      * @param value the initial value to be added
-     * @return a {@link Supplier} with the value set using the {@link NetworkTable}s
+     * @return a {@link TunableString} with the value set using the {@link NetworkTable}s
      */
-    Supplier<String> addConstantString(String name, String value);
+    TunableString addConstantString(String name, String value);
 
     /**
      * Adds a {@link ChildNamespace} to this namespace.
@@ -61,6 +67,23 @@ public interface Namespace {
      */
     void putData(String key, Sendable value);
 
+    /**
+     * Adds a {@link Sendable} to the namespace, which is updated according to the given policy. Namespaces which
+     * do not support update policies update the value on every cycle, and report a warning to the driver station
+     * if it was given any other policy.
+     *
+     * @param key    the key that will be given to the value
+     * @param value  the value to be added
+     * @param policy decides on which cycles the value is updated
+     */
+    default void putData(String key, Sendable value, SendableUpdatePolicy policy) {
+        if (policy != SendableUpdatePolicy.everyCycle()) {
+            DriverStation.reportWarning(getClass().getSimpleName() + " does not support sendable update " +
+                    "policies, so " + key + " is updated on every cycle", false);
+        }
+        putData(key, value);
+    }
+
     /**
      * Adds a {@link Command} to the namespace.
      *
@@ -145,6 +168,50 @@ public interface Namespace {
      */
     void putNumber(String key, Supplier<? extends Number> value);
 
+    /**
+     * Adds a Number {@link Supplier} to the namespace, whose value is only published when it changes by more than
+     * the given deadband. Namespaces which do not support deadbands publish every change.
+     *
+     * @param key      the key that will be given to the value
+     * @param value    the value to be added
+     * @param deadband the maximum change in the value which is not published
+     */
+    default void putNumber(String key, Supplier<? extends Number> value, double deadband) {
+        this.putNumber(key, value);
+    }
+
+    /**
+     * Adds a {@link DoubleSupplier} to the namespace, whose value may be published without boxing.
+     *
+     * @param key   the key that will be given to the value
+     * @param value the value to be added
+     */
+    default void putDouble(String key, DoubleSupplier value) {
+        this.putDouble(key, value, 0);
+    }
+
+    /**
+     * Adds a {@link DoubleSupplier} to the namespace, whose value may be published without boxing, and is only
+     * published when it changes by more than the given deadband.
+     *
+     * @param key      the key that will be given to the value
+     * @param value    the value to be added
+     * @param deadband the maximum change in the value which is not published
+     */
+    default void putDouble(String key, DoubleSupplier value, double deadband) {
+        this.putNumber(key, value::getAsDouble, deadband);
+    }
+
+    /**
+     * Adds an {@link IntSupplier} to the namespace, whose value may be published without boxing.
+     *
+     * @param key   the key that will be given to the value
+     * @param value the value to be added
+     */
+    default void putInt(String key, IntSupplier value) {
+        this.putDouble(key, value::getAsInt);
+    }
+
     /**
      * Adds a Number value to the namespace.
      *
@@ -181,6 +248,67 @@ public interface Namespace {
         this.putBoolean(key, () -> value);
     }
 
+    /**
+     * Adds a double array {@link Supplier} to the namespace, whose values are published together as a single
+     * entry. The supplier may fill and return the same array on every call. Namespaces which do not support array
+     * entries publish every value of the array, whose length is taken from the first call, as a separate number
+     * under the key.
+     *
+     * @param key   the key that will be given to the value
+     * @param value the value to be added
+     */
+    default void putDoubleArray(String key, Supplier<double[]> value) {
+        int length = value.get().length;
+        for (int i = 0; i < length; i++) {
+            int index = i;
+            this.putDouble(key + "/" + i, () -> value.get()[index]);
+        }
+    }
+
+    /**
+     * Adds several related {@link DoubleSupplier}s to the namespace, which are published together as a single
+     * array entry, so the dashboard always sees values from the same cycle.
+     *
+     * @param key    the key that will be given to the values
+     * @param values the values to be added
+     */
+    default void putNumbers(String key, DoubleSupplier... values) {
+        double[] buffer = new double[values.length];
+        this.putDoubleArray(key, () -> {
+            for (int i = 0; i < values.length; i++) {
+                buffer[i] = values[i].getAsDouble();
+            }
+            return buffer;
+        });
+    }
+
+    /**
+     * Adds a {@link Supplier} of an object to the namespace, which is packed into a single array entry.
+     *
+     * @param key    the key that will be given to the value
+     * @param value  the value to be added
+     * @param packer packs the object into an array
+     * @param <T>    the type of the object
+     */
+    default <T> void putStruct(String key, Supplier<T> value, StructPacker<T> packer) {
+        double[] buffer = new double[packer.getSize()];
+        this.putDoubleArray(key, () -> {
+            packer.pack(value.get(), buffer);
+            return buffer;
+        });
+    }
+
+    /**
+     * Adds a {@link Pose2d} {@link Supplier} to the namespace, which is published as an array of its x, y and
+     * rotation in degrees, the same format that is used by the field widget.
+     *
+     * @param key  the key that will be given to the value
+     * @param pose the value to be added
+     */
+    default void putPose(String key, Supplier<Pose2d> pose) {
+        this.putStruct(key, pose, StructPacker.POSE_2D);
+    }
+
     /**
      * Gets a boolean value from the namespace.
      *
@@ -198,12 +326,13 @@ public interface Namespace {
      */
     default PIDSettings addPIDNamespace(String name, PIDSettings initialPIDSettings) {
         ChildNamespace child = this.addChild(name + " pid");
-        Supplier<Double> kP = child.addConstantDouble("kP " + name, initialPIDSettings.getkP());
-        Supplier<Double> kI = child.addConstantDouble("kI " + name, initialPIDSettings.getkI());
-        Supplier<Double> kD = child.addConstantDouble("kD " + name, initialPIDSettings.getkD());
-        Supplier<Double> tolerance = child.addConstantDouble(name + " tolerance", initialPIDSettings.getTolerance());
-        Supplier<Double> waitTime = child.addConstantDouble(name + " wait time", initialPIDSettings.getWaitTime());
-        return new PIDSettings(kP, kI, kD, tolerance, waitTime);
+        TunableDouble kP = child.addConstantDouble("kP " + name, initialPIDSettings.getkP());
+        TunableDouble kI = child.addConstantDouble("kI " + name, initialPIDSettings.getkI());
+        TunableDouble kD = child.addConstantDouble("kD " + name, initialPIDSettings.getkD());
+        TunableDouble tolerance = child.addConstantDouble(name + " tolerance", initialPIDSettings.getTolerance());
+        TunableDouble waitTime = child.addConstantDouble(name + " wait time", initialPIDSettings.getWaitTime());
+        return new PIDSettings(kP, kI, kD, tolerance, waitTime, () -> kP.getChangeCount() + kI.getChangeCount() +
+                kD.getChangeCount() + tolerance.getChangeCount() + waitTime.getChangeCount());
     }
 
     /**
@@ -215,11 +344,14 @@ public interface Namespace {
      */
     default FeedForwardSettings addFeedForwardNamespace(String name, FeedForwardSettings initialFeedForwardSettings) {
         ChildNamespace child = this.addChild(name + " feed forward");
-        Supplier<Double> kS = child.addConstantDouble("kS " + name, initialFeedForwardSettings.getkS());
-        Supplier<Double> kV = child.addConstantDouble("kV " + name, initialFeedForwardSettings.getkV());
-        Supplier<Double> kA = child.addConstantDouble("kA " + name, initialFeedForwardSettings.getkA());
-        Supplier<Double> kG = child.addConstantDouble("kG " + name, initialFeedForwardSettings.getkG());
-        return new FeedForwardSettings(kS, kV, kA, kG);
+        TunableDouble kS = child.addConstantDouble("kS " + name, initialFeedForwardSettings.getkS());
+        TunableDouble kV = child.addConstantDouble("kV " + name, initialFeedForwardSettings.getkV());
+        TunableDouble kA = child.addConstantDouble("kA " + name, initialFeedForwardSettings.getkA());
+        TunableDouble kG = child.addConstantDouble("kG " + name, initialFeedForwardSettings.getkG());
+        FeedForwardSettings settings = new FeedForwardSettings(kS, kV, kA, kG, () -> kS.getChangeCount() +
+                kV.getChangeCount() + kA.getChangeCount() + kG.getChangeCount());
+        settings.setGravityModel(initialFeedForwardSettings.getGravityModel());
+        return settings;
     }
 
     /**
@@ -0,0 +1,573 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.Publisher;
+import edu.wpi.first.networktables.StringPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the fields of a {@link RootNamespace} to its {@link NetworkTable}.
+ *
+ * <p>The typed publisher of every field is resolved once, when the field is added, and is stored in flat arrays
+ * alongside the field's supplier. Flushing all the values is then a single pass over the arrays, without any
+ * key lookups.</p>
+ *
+ * <p>A value is only sent when it has changed since it was last published (or, for numbers, when it moved by more
+ * than the field's deadband). The fields can also be published once every few cycles, in which case each cycle
+ * publishes an equal share of the fields, so the cost is spread evenly.</p>
+ *
+ * <p>The values can also be published by a background thread. The robot loop then only samples the suppliers and
+ * writes the changed values into a preallocated snapshot, which is handed to the {@link NamespacePublishingThread}
+ * without locking. Three snapshots are rotated between the two threads, so each thread always owns the snapshot it
+ * is using.</p>
+ */
+class NamespacePublisher {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final NetworkTable table;
+
+    /**
+     * The full NetworkTables path of the table, under which the fields are recorded by the {@link NamespaceRecorder}.
+     */
+    private final String path;
+
+    /**
+     * The amount of cycles between two publications of the same field.
+     */
+    private int period = 1;
+
+    /**
+     * The index of the current cycle within the publication period.
+     */
+    private int cycle;
+
+    private final Map<String, Integer> numberIndices = new HashMap<>();
+    private String[] numberKeys = new String[INITIAL_CAPACITY];
+    private DoublePublisher[] numberPublishers = new DoublePublisher[INITIAL_CAPACITY];
+    private DoubleSupplier[] numberSuppliers = new DoubleSupplier[INITIAL_CAPACITY];
+    private double[] numberDeadbands = new double[INITIAL_CAPACITY];
+    private double[] numberLastValues = new double[INITIAL_CAPACITY];
+    private int numberCount;
+
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+    private String[] stringKeys = new String[INITIAL_CAPACITY];
+    private StringPublisher[] stringPublishers = new StringPublisher[INITIAL_CAPACITY];
+    private Supplier<String>[] stringSuppliers = newSupplierArray(INITIAL_CAPACITY);
+    private String[] stringLastValues = new String[INITIAL_CAPACITY];
+    private int stringCount;
+
+    private final Map<String, Integer> booleanIndices = new HashMap<>();
+    private String[] booleanKeys = new String[INITIAL_CAPACITY];
+    private BooleanPublisher[] booleanPublishers = new BooleanPublisher[INITIAL_CAPACITY];
+    private BooleanSupplier[] booleanSuppliers = new BooleanSupplier[INITIAL_CAPACITY];
+    private boolean[] booleanLastValues = new boolean[INITIAL_CAPACITY];
+    private int booleanCount;
+
+    private final Map<String, Integer> doubleArrayIndices = new HashMap<>();
+    private String[] doubleArrayKeys = new String[INITIAL_CAPACITY];
+    private DoubleArrayPublisher[] doubleArrayPublishers = new DoubleArrayPublisher[INITIAL_CAPACITY];
+    private Supplier<double[]>[] doubleArraySuppliers = newSupplierArray(INITIAL_CAPACITY);
+    private double[][] doubleArrayLastValues = new double[INITIAL_CAPACITY][];
+    private int doubleArrayCount;
+
+    /**
+     * The snapshot the robot loop is writing into, or {@code null} if the values are published on the robot loop's
+     * thread.
+     */
+    private Snapshot writeSnapshot;
+
+    /**
+     * The snapshot which was last handed over, and is waiting to be taken by the background thread.
+     */
+    private final AtomicReference<Snapshot> readySnapshot = new AtomicReference<>();
+
+    /**
+     * The snapshot the background thread is publishing.
+     */
+    private Snapshot readSnapshot;
+
+    NamespacePublisher(NetworkTable table) {
+        this.table = table;
+        this.path = table.getPath() + NetworkTable.PATH_SEPARATOR;
+    }
+
+    /**
+     * Sets the amount of cycles between two publications of the same field.
+     *
+     * @param period the amount of cycles, at least 1
+     */
+    void setPeriod(int period) {
+        this.period = Math.max(1, period);
+    }
+
+    int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Makes the values be published by the {@link NamespacePublishingThread} from now on.
+     */
+    void enableBackgroundPublishing() {
+        if (writeSnapshot != null) return;
+        readSnapshot = new Snapshot();
+        readySnapshot.set(new Snapshot());
+        writeSnapshot = new Snapshot();
+        NamespacePublishingThread.register(this);
+    }
+
+    boolean isPublishedInBackground() {
+        return writeSnapshot != null;
+    }
+
+    void putNumber(String key, DoubleSupplier value, double deadband) {
+        Integer index = numberIndices.get(key);
+        if (index == null) {
+            removeString(key);
+            removeBoolean(key);
+            removeDoubleArray(key);
+            if (numberCount == numberKeys.length) {
+                int capacity = numberCount * 2;
+                numberKeys = Arrays.copyOf(numberKeys, capacity);
+                numberPublishers = Arrays.copyOf(numberPublishers, capacity);
+                numberSuppliers = Arrays.copyOf(numberSuppliers, capacity);
+                numberDeadbands = Arrays.copyOf(numberDeadbands, capacity);
+                numberLastValues = Arrays.copyOf(numberLastValues, capacity);
+            }
+            index = numberCount++;
+            numberKeys[index] = key;
+            numberPublishers[index] = table.getDoubleTopic(key).publish();
+            numberIndices.put(key, index);
+        }
+        numberSuppliers[index] = value;
+        numberDeadbands[index] = deadband;
+        numberLastValues[index] = value.getAsDouble();
+        set(numberPublishers[index], numberLastValues[index]);
+        if (NamespaceRecorder.isRecording()) NamespaceRecorder.recordDouble(path + key, numberLastValues[index]);
+    }
+
+    void putString(String key, Supplier<String> value) {
+        Integer index = stringIndices.get(key);
+        if (index == null) {
+            removeNumber(key);
+            removeBoolean(key);
+            removeDoubleArray(key);
+            if (stringCount == stringKeys.length) {
+                int capacity = stringCount * 2;
+                stringKeys = Arrays.copyOf(stringKeys, capacity);
+                stringPublishers = Arrays.copyOf(stringPublishers, capacity);
+                stringSuppliers = Arrays.copyOf(stringSuppliers, capacity);
+                stringLastValues = Arrays.copyOf(stringLastValues, capacity);
+            }
+            index = stringCount++;
+            stringKeys[index] = key;
+            stringPublishers[index] = table.getStringTopic(key).publish();
+            stringIndices.put(key, index);
+        }
+        stringSuppliers[index] = value;
+        stringLastValues[index] = value.get();
+        set(stringPublishers[index], stringLastValues[index]);
+        if (NamespaceRecorder.isRecording()) NamespaceRecorder.recordString(path + key, stringLastValues[index]);
+    }
+
+    void putBoolean(String key, BooleanSupplier value) {
+        Integer index = booleanIndices.get(key);
+        if (index == null) {
+            removeNumber(key);
+            removeString(key);
+            removeDoubleArray(key);
+            if (booleanCount == booleanKeys.length) {
+                int capacity = booleanCount * 2;
+                booleanKeys = Arrays.copyOf(booleanKeys, capacity);
+                booleanPublishers = Arrays.copyOf(booleanPublishers, capacity);
+                booleanSuppliers = Arrays.copyOf(booleanSuppliers, capacity);
+                booleanLastValues = Arrays.copyOf(booleanLastValues, capacity);
+            }
+            index = booleanCount++;
+            booleanKeys[index] = key;
+            booleanPublishers[index] = table.getBooleanTopic(key).publish();
+            booleanIndices.put(key, index);
+        }
+        booleanSuppliers[index] = value;
+        booleanLastValues[index] = value.getAsBoolean();
+        set(booleanPublishers[index], booleanLastValues[index]);
+        if (NamespaceRecorder.isRecording()) NamespaceRecorder.recordBoolean(path + key, booleanLastValues[index]);
+    }
+
+    /**
+     * Adds an array field. The supplier may return the same array on every call, since the last published value is
+     * kept as a copy.
+     *
+     * @param key   the field's key
+     * @param value the field's value
+     */
+    void putDoubleArray(String key, Supplier<double[]> value) {
+        Integer index = doubleArrayIndices.get(key);
+        if (index == null) {
+            removeNumber(key);
+            removeString(key);
+            removeBoolean(key);
+            if (doubleArrayCount == doubleArrayKeys.length) {
+                int capacity = doubleArrayCount * 2;
+                doubleArrayKeys = Arrays.copyOf(doubleArrayKeys, capacity);
+                doubleArrayPublishers = Arrays.copyOf(doubleArrayPublishers, capacity);
+                doubleArraySuppliers = Arrays.copyOf(doubleArraySuppliers, capacity);
+                doubleArrayLastValues = Arrays.copyOf(doubleArrayLastValues, capacity);
+            }
+            index = doubleArrayCount++;
+            doubleArrayKeys[index] = key;
+            doubleArrayPublishers[index] = table.getDoubleArrayTopic(key).publish();
+            doubleArrayIndices.put(key, index);
+        }
+        doubleArraySuppliers[index] = value;
+        doubleArrayLastValues[index] = value.get().clone();
+        set(doubleArrayPublishers[index], doubleArrayLastValues[index]);
+        if (NamespaceRecorder.isRecording()) {
+            NamespaceRecorder.recordDoubleArray(path + key, doubleArrayLastValues[index]);
+        }
+    }
+
+    /**
+     * Stops publishing the field with the given key, whatever its type is.
+     *
+     * @param key the field's key
+     */
+    void remove(String key) {
+        removeNumber(key);
+        removeString(key);
+        removeBoolean(key);
+        removeDoubleArray(key);
+    }
+
+    /**
+     * Publishes the values of this cycle's share of the fields that have changed.
+     */
+    void update() {
+        int first = cycle % period;
+        cycle = first + 1;
+        boolean recording = NamespaceRecorder.isRecording();
+        for (int i = first; i < booleanCount; i += period) {
+            boolean value = booleanSuppliers[i].getAsBoolean();
+            if (value != booleanLastValues[i]) {
+                booleanLastValues[i] = value;
+                set(booleanPublishers[i], value);
+                if (recording) NamespaceRecorder.recordBoolean(path + booleanKeys[i], value);
+            }
+        }
+        for (int i = first; i < numberCount; i += period) {
+            double value = numberSuppliers[i].getAsDouble();
+            if (hasChanged(value, numberLastValues[i], numberDeadbands[i])) {
+                numberLastValues[i] = value;
+                set(numberPublishers[i], value);
+                if (recording) NamespaceRecorder.recordDouble(path + numberKeys[i], value);
+            }
+        }
+        for (int i = first; i < stringCount; i += period) {
+            String value = stringSuppliers[i].get();
+            if (!Objects.equals(value, stringLastValues[i])) {
+                stringLastValues[i] = value;
+                set(stringPublishers[i], value);
+                if (recording) NamespaceRecorder.recordString(path + stringKeys[i], value);
+            }
+        }
+        for (int i = first; i < doubleArrayCount; i += period) {
+            double[] value = doubleArraySuppliers[i].get();
+            double[] last = doubleArrayLastValues[i];
+            if (!Arrays.equals(value, last)) {
+                if (value.length == last.length) {
+                    System.arraycopy(value, 0, last, 0, value.length);
+                } else {
+                    doubleArrayLastValues[i] = last = value.clone();
+                }
+                set(doubleArrayPublishers[i], last);
+                if (recording) NamespaceRecorder.recordDoubleArray(path + doubleArrayKeys[i], last);
+            }
+        }
+        if (writeSnapshot != null) {
+            handOver();
+        }
+    }
+
+    /**
+     * Publishes the last snapshot that was handed over, if there is a new one. Called by the background thread.
+     */
+    void publishSnapshot() {
+        Snapshot snapshot = readySnapshot.getAndSet(readSnapshot);
+        if (snapshot.fresh) {
+            snapshot.publish();
+        }
+        readSnapshot = snapshot;
+    }
+
+    /**
+     * Hands the current snapshot over to the background thread, unless the previous one has not been taken yet, in
+     * which case the changes keep accumulating in the current snapshot until the next cycle.
+     */
+    private void handOver() {
+        if (writeSnapshot.isEmpty() || readySnapshot.get().fresh) return;
+        writeSnapshot.fresh = true;
+        writeSnapshot = readySnapshot.getAndSet(writeSnapshot);
+        NamespacePublishingThread.wake();
+    }
+
+    private void set(DoublePublisher publisher, double value) {
+        if (writeSnapshot == null) {
+            publisher.set(value);
+        } else {
+            writeSnapshot.addNumber(publisher, value);
+        }
+    }
+
+    private void set(StringPublisher publisher, String value) {
+        if (writeSnapshot == null) {
+            publisher.set(value);
+        } else {
+            writeSnapshot.addString(publisher, value);
+        }
+    }
+
+    private void set(BooleanPublisher publisher, boolean value) {
+        if (writeSnapshot == null) {
+            publisher.set(value);
+        } else {
+            writeSnapshot.addBoolean(publisher, value);
+        }
+    }
+
+    private void set(DoubleArrayPublisher publisher, double[] value) {
+        if (writeSnapshot == null) {
+            publisher.set(value);
+        } else {
+            writeSnapshot.addDoubleArray(publisher, value);
+        }
+    }
+
+    /**
+     * Closes a publisher, or lets the background thread close it after publishing the values that are still
+     * waiting to be sent through it.
+     */
+    private void close(Publisher publisher) {
+        if (writeSnapshot == null) {
+            publisher.close();
+        } else {
+            writeSnapshot.closedPublishers.add(publisher);
+        }
+    }
+
+    /**
+     * Checks whether a number has changed enough to be published again.
+     *
+     * @param value    the current value
+     * @param last     the last published value
+     * @param deadband the maximum change which is not published
+     * @return whether the value should be published
+     */
+    static boolean hasChanged(double value, double last, double deadband) {
+        if (Double.isNaN(value) || Double.isNaN(last)) return Double.isNaN(value) != Double.isNaN(last);
+        return deadband > 0 ? Math.abs(value - last) > deadband : value != last;
+    }
+
+    /*
+     * Fields are removed by moving the last field into the removed field's slot, so the arrays stay dense.
+     */
+
+    private void removeNumber(String key) {
+        Integer index = numberIndices.remove(key);
+        if (index == null) return;
+        close(numberPublishers[index]);
+        int last = --numberCount;
+        if (index != last) {
+            numberKeys[index] = numberKeys[last];
+            numberPublishers[index] = numberPublishers[last];
+            numberSuppliers[index] = numberSuppliers[last];
+            numberDeadbands[index] = numberDeadbands[last];
+            numberLastValues[index] = numberLastValues[last];
+            numberIndices.put(numberKeys[index], index);
+        }
+        numberKeys[last] = null;
+        numberPublishers[last] = null;
+        numberSuppliers[last] = null;
+    }
+
+    private void removeString(String key) {
+        Integer index = stringIndices.remove(key);
+        if (index == null) return;
+        close(stringPublishers[index]);
+        int last = --stringCount;
+        if (index != last) {
+            stringKeys[index] = stringKeys[last];
+            stringPublishers[index] = stringPublishers[last];
+            stringSuppliers[index] = stringSuppliers[last];
+            stringLastValues[index] = stringLastValues[last];
+            stringIndices.put(stringKeys[index], index);
+        }
+        stringKeys[last] = null;
+        stringPublishers[last] = null;
+        stringSuppliers[last] = null;
+        stringLastValues[last] = null;
+    }
+
+    private void removeBoolean(String key) {
+        Integer index = booleanIndices.remove(key);
+        if (index == null) return;
+        close(booleanPublishers[index]);
+        int last = --booleanCount;
+        if (index != last) {
+            booleanKeys[index] = booleanKeys[last];
+            booleanPublishers[index] = booleanPublishers[last];
+            booleanSuppliers[index] = booleanSuppliers[last];
+            booleanLastValues[index] = booleanLastValues[last];
+            booleanIndices.put(booleanKeys[index], index);
+        }
+        booleanKeys[last] = null;
+        booleanPublishers[last] = null;
+        booleanSuppliers[last] = null;
+    }
+
+    private void removeDoubleArray(String key) {
+        Integer index = doubleArrayIndices.remove(key);
+        if (index == null) return;
+        close(doubleArrayPublishers[index]);
+        int last = --doubleArrayCount;
+        if (index != last) {
+            doubleArrayKeys[index] = doubleArrayKeys[last];
+            doubleArrayPublishers[index] = doubleArrayPublishers[last];
+            doubleArraySuppliers[index] = doubleArraySuppliers[last];
+            doubleArrayLastValues[index] = doubleArrayLastValues[last];
+            doubleArrayIndices.put(doubleArrayKeys[index], index);
+        }
+        doubleArrayKeys[last] = null;
+        doubleArrayPublishers[last] = null;
+        doubleArraySuppliers[last] = null;
+        doubleArrayLastValues[last] = null;
+    }
+
+    /**
+     * The values which were changed during a cycle, with the publishers they should be sent through.
+     */
+    private static class Snapshot {
+
+        private DoublePublisher[] numberPublishers = new DoublePublisher[INITIAL_CAPACITY];
+        private double[] numberValues = new double[INITIAL_CAPACITY];
+        private int numberCount;
+
+        private StringPublisher[] stringPublishers = new StringPublisher[INITIAL_CAPACITY];
+        private String[] stringValues = new String[INITIAL_CAPACITY];
+        private int stringCount;
+
+        private BooleanPublisher[] booleanPublishers = new BooleanPublisher[INITIAL_CAPACITY];
+        private boolean[] booleanValues = new boolean[INITIAL_CAPACITY];
+        private int booleanCount;
+
+        private DoubleArrayPublisher[] doubleArrayPublishers = new DoubleArrayPublisher[INITIAL_CAPACITY];
+
+        /**
+         * Copies of the arrays, which are kept after publishing and reused by arrays of the same length.
+         */
+        private double[][] doubleArrayValues = new double[INITIAL_CAPACITY][];
+        private int doubleArrayCount;
+
+        private final List<Publisher> closedPublishers = new ArrayList<>();
+
+        /**
+         * Whether the snapshot has been handed over and not published yet.
+         */
+        private volatile boolean fresh;
+
+        private void addNumber(DoublePublisher publisher, double value) {
+            if (numberCount == numberPublishers.length) {
+                numberPublishers = Arrays.copyOf(numberPublishers, numberCount * 2);
+                numberValues = Arrays.copyOf(numberValues, numberCount * 2);
+            }
+            numberPublishers[numberCount] = publisher;
+            numberValues[numberCount++] = value;
+        }
+
+        private void addString(StringPublisher publisher, String value) {
+            if (stringCount == stringPublishers.length) {
+                stringPublishers = Arrays.copyOf(stringPublishers, stringCount * 2);
+                stringValues = Arrays.copyOf(stringValues, stringCount * 2);
+            }
+            stringPublishers[stringCount] = publisher;
+            stringValues[stringCount++] = value;
+        }
+
+        private void addBoolean(BooleanPublisher publisher, boolean value) {
+            if (booleanCount == booleanPublishers.length) {
+                booleanPublishers = Arrays.copyOf(booleanPublishers, booleanCount * 2);
+                booleanValues = Arrays.copyOf(booleanValues, booleanCount * 2);
+            }
+            booleanPublishers[booleanCount] = publisher;
+            booleanValues[booleanCount++] = value;
+        }
+
+        private void addDoubleArray(DoubleArrayPublisher publisher, double[] value) {
+            if (doubleArrayCount == doubleArrayPublishers.length) {
+                doubleArrayPublishers = Arrays.copyOf(doubleArrayPublishers, doubleArrayCount * 2);
+                doubleArrayValues = Arrays.copyOf(doubleArrayValues, doubleArrayCount * 2);
+            }
+            doubleArrayPublishers[doubleArrayCount] = publisher;
+            double[] copy = doubleArrayValues[doubleArrayCount];
+            if (copy == null || copy.length != value.length) {
+                doubleArrayValues[doubleArrayCount] = copy = new double[value.length];
+            }
+            System.arraycopy(value, 0, copy, 0, value.length);
+            doubleArrayCount++;
+        }
+
+        private boolean isEmpty() {
+            return numberCount == 0 && stringCount == 0 && booleanCount == 0 && doubleArrayCount == 0 &&
+                    closedPublishers.isEmpty();
+        }
+
+        /**
+         * Sends all the values in the snapshot, in the order they were added, and empties it.
+         */
+        private void publish() {
+            for (int i = 0; i < booleanCount; i++) {
+                booleanPublishers[i].set(booleanValues[i]);
+                booleanPublishers[i] = null;
+            }
+            for (int i = 0; i < numberCount; i++) {
+                numberPublishers[i].set(numberValues[i]);
+                numberPublishers[i] = null;
+            }
+            for (int i = 0; i < stringCount; i++) {
+                stringPublishers[i].set(stringValues[i]);
+                stringPublishers[i] = null;
+                stringValues[i] = null;
+            }
+            for (int i = 0; i < doubleArrayCount; i++) {
+                doubleArrayPublishers[i].set(doubleArrayValues[i]);
+                doubleArrayPublishers[i] = null;
+            }
+            for (Publisher publisher : closedPublishers) {
+                publisher.close();
+            }
+            booleanCount = 0;
+            numberCount = 0;
+            stringCount = 0;
+            doubleArrayCount = 0;
+            closedPublishers.clear();
+            fresh = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T>[] newSupplierArray(int length) {
+        return (Supplier<T>[]) new Supplier[length];
+    }
+}
@@ -0,0 +1,56 @@
+package com.spikes2212.dashboard;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A background thread which publishes the snapshots of the namespaces that are published in the background, so the
+ * robot loop does not spend time sending values to the NetworkTables. The thread is not given a lower priority, since
+ * Java thread priorities have no effect on the RoboRIO; it mostly sleeps, and wakes up only when a snapshot is handed
+ * over.
+ *
+ * @see RootNamespace#enableBackgroundPublishing()
+ */
+class NamespacePublishingThread {
+
+    private static final List<NamespacePublisher> publishers = new CopyOnWriteArrayList<>();
+    private static volatile Thread thread;
+
+    private NamespacePublishingThread() {
+    }
+
+    /**
+     * Adds a publisher whose snapshots are published by the thread, and starts the thread if it is not running.
+     *
+     * @param publisher the publisher
+     */
+    static synchronized void register(NamespacePublisher publisher) {
+        publishers.add(publisher);
+        if (thread == null) {
+            Thread thread = new Thread(NamespacePublishingThread::run, "Namespace Publishing");
+            thread.setDaemon(true);
+            thread.start();
+            NamespacePublishingThread.thread = thread;
+        }
+    }
+
+    /**
+     * Lets the thread know that a new snapshot has been handed over. Does not block.
+     */
+    static void wake() {
+        Thread thread = NamespacePublishingThread.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private static void run() {
+        while (true) {
+            for (NamespacePublisher publisher : publishers) {
+                publisher.publishSnapshot();
+            }
+            LockSupport.park();
+        }
+    }
+}
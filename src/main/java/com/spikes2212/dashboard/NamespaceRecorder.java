@@ -0,0 +1,109 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableValue;
+
+/**
+ * Records the values of all the {@link Namespace}s to a {@link TelemetryLogger}, so a match can later be replayed
+ * using a {@link NamespaceReplayer}.
+ *
+ * <p>While recording, every value published using {@link Namespace#putNumber}, {@link Namespace#putDouble},
+ * {@link Namespace#putBoolean} and {@link Namespace#putString} is recorded whenever it is published, and every
+ * tunable (such as the values added using {@link Namespace#addConstantDouble}) is recorded whenever it changes. The
+ * values are recorded under their full NetworkTables paths, with the time they were recorded at.</p>
+ *
+ * <b>The update method should be called once per robot loop, at its beginning (in the same place
+ * {@link NamespaceReplayer#update()} is called when replaying), so the recording can be replayed loop by loop.</b>
+ *
+ * @see NamespaceReplayer
+ */
+public class NamespaceRecorder {
+
+    /**
+     * The key under which the beginning of every robot loop is recorded.
+     */
+    static final String LOOP_KEY = "/NamespaceRecorder/loop";
+
+    private static volatile TelemetryLogger logger;
+    private static long loop;
+
+    private NamespaceRecorder() {
+    }
+
+    /**
+     * Starts recording the values of all the namespaces, including the current values of all the tunables.
+     *
+     * @param logger the log the values are recorded to
+     */
+    public static void start(TelemetryLogger logger) {
+        loop = 0;
+        NamespaceRecorder.logger = logger;
+        Tunable.recordAll();
+    }
+
+    /**
+     * Stops recording. The log is flushed, but is not closed.
+     */
+    public static void stop() {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        NamespaceRecorder.logger = null;
+        if (logger != null) {
+            logger.flush();
+        }
+    }
+
+    /**
+     * Records the beginning of a robot loop.
+     */
+    public static void update() {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        if (logger != null) {
+            logger.logInteger(LOOP_KEY, loop++);
+        }
+    }
+
+    public static boolean isRecording() {
+        return logger != null;
+    }
+
+    static void recordDouble(String key, double value) {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        if (logger != null) {
+            logger.logDouble(key, value);
+        }
+    }
+
+    static void recordBoolean(String key, boolean value) {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        if (logger != null) {
+            logger.logBoolean(key, value);
+        }
+    }
+
+    static void recordString(String key, String value) {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        if (logger != null) {
+            logger.logString(key, value);
+        }
+    }
+
+    static void recordDoubleArray(String key, double[] value) {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        if (logger != null) {
+            logger.logDoubleArray(key, value);
+        }
+    }
+
+    static void record(String key, NetworkTableValue value) {
+        TelemetryLogger logger = NamespaceRecorder.logger;
+        if (logger == null) return;
+        if (value.isDouble()) {
+            logger.logDouble(key, value.getDouble());
+        } else if (value.isInteger()) {
+            logger.logInteger(key, value.getInteger());
+        } else if (value.isBoolean()) {
+            logger.logBoolean(key, value.getBoolean());
+        } else if (value.isString()) {
+            logger.logString(key, value.getString());
+        }
+    }
+}
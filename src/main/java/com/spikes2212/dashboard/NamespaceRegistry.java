@@ -0,0 +1,134 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of every {@link RootNamespace}, and updates all of them once per robot loop.
+ *
+ * <p>Every root namespace enrolls itself when it is constructed. Once {@link #update()} is called for the first
+ * time, it becomes the only place where namespaces are updated: calls to {@link RootNamespace#update()} (such as the
+ * one in {@code DashboardedSubsystem.periodic()}) do nothing, and every namespace is updated exactly once per
+ * loop, in the order the namespaces were created. This also updates namespaces which have no subsystem to update
+ * them, such as the default namespace of an {@link AutoChooser}.</p>
+ *
+ * <p>If a namespace is updated by its owner several times in a row without the registry being updated in between, the
+ * registry stops being responsible for the namespaces, reports a warning, and calls to
+ * {@link RootNamespace#update()} update the namespaces again, until the registry is updated again. This is counted
+ * in loops rather than in time, so slow loops (such as those during boot or the first enable) do not deactivate
+ * the registry.</p>
+ *
+ * <p>The registry holds the namespaces weakly, but a root namespace is kept alive by each of its children, so the
+ * values of a child namespace keep being published as long as the child is used.</p>
+ *
+ * <b>The update method should be called once per robot loop, in the {@code robotPeriodic()} method in
+ * {@code Robot}, after the command scheduler runs.</b>
+ */
+public class NamespaceRegistry {
+
+    /**
+     * The enrolled namespaces, in the order they were created. The registry does not keep namespaces which are
+     * not used anymore alive.
+     */
+    private static final List<WeakReference<RootNamespace>> namespaces = new ArrayList<>();
+
+    /**
+     * The amount of times in a row a namespace can be updated by its owner without the registry being updated,
+     * before the registry stops being responsible for updating the namespaces.
+     */
+    private static final int MAX_MISSED_UPDATES = 5;
+
+    private static volatile boolean active;
+
+    /**
+     * The amount of times the registry was updated.
+     */
+    private static volatile long cycle;
+    private static long lastUpdateDuration;
+
+    private NamespaceRegistry() {
+    }
+
+    /**
+     * Updates every enrolled namespace, and makes the registry responsible for updating them from now on.
+     */
+    public static synchronized void update() {
+        long startTime = System.nanoTime();
+        cycle++;
+        active = true;
+        int size = 0;
+        for (int i = 0; i < namespaces.size(); i++) {
+            RootNamespace namespace = namespaces.get(i).get();
+            if (namespace != null) {
+                namespaces.set(size++, namespaces.get(i));
+                namespace.flush();
+            }
+        }
+        namespaces.subList(size, namespaces.size()).clear();
+        lastUpdateDuration = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Makes every namespace that is enrolled so far send its values to the NetworkTables from a background thread.
+     *
+     * @see RootNamespace#enableBackgroundPublishing()
+     */
+    public static synchronized void enableBackgroundPublishing() {
+        for (WeakReference<RootNamespace> reference : namespaces) {
+            RootNamespace namespace = reference.get();
+            if (namespace != null) {
+                namespace.enableBackgroundPublishing();
+            }
+        }
+    }
+
+    /**
+     * @return whether the registry is responsible for updating the namespaces, which it is as long as it is updated
+     * periodically
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Checks whether the registry is responsible for updating the given namespace, when its owner tries to update
+     * it. Counts the owner's updates since the registry's last update, and deactivates the registry if there are
+     * too many of them.
+     *
+     * @param namespace the namespace its owner tries to update
+     * @return whether the registry updates the namespace
+     */
+    static boolean isUpdating(RootNamespace namespace) {
+        if (!active) return false;
+        long cycle = NamespaceRegistry.cycle;
+        if (cycle != namespace.lastRegistryCycle) {
+            namespace.lastRegistryCycle = cycle;
+            namespace.missedRegistryUpdates = 0;
+            return true;
+        }
+        if (++namespace.missedRegistryUpdates < MAX_MISSED_UPDATES) return true;
+        deactivate(cycle);
+        return false;
+    }
+
+    private static synchronized void deactivate(long missedCycle) {
+        if (!active || cycle != missedCycle) return;
+        active = false;
+        DriverStation.reportWarning("NamespaceRegistry.update() was not called recently, the namespaces are " +
+                "updated by their owners until it is called again", false);
+    }
+
+    /**
+     * @return the time in seconds that the last update of all the namespaces took
+     */
+    public static synchronized double getLastUpdateDuration() {
+        return lastUpdateDuration / 1e9;
+    }
+
+    static synchronized void register(RootNamespace namespace) {
+        namespaces.add(new WeakReference<>(namespace));
+    }
+}
@@ -0,0 +1,220 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableValue;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replays a recording made by a {@link NamespaceRecorder}, usually in simulation.
+ *
+ * <p>While replaying, the tunables (such as the values added using {@link Namespace#addConstantDouble}) take the
+ * recorded values at the times they were recorded, and ignore changes made using the NetworkTables UI. Reading a
+ * value from a namespace (such as using {@link Namespace#getNumber}) also returns the recorded value, if there is
+ * one.</p>
+ *
+ * <p>Every call to {@link #update()} replays one recorded robot loop, as marked by
+ * {@link NamespaceRecorder#update()}, so replaying the same recording always gives the code the same inputs on the
+ * same loops, however long the loops take. A recording without loop marks is replayed by the time that passed since
+ * the replay started instead, which depends on the timing of the loops.</p>
+ *
+ * <b>The update method should be called periodically (once per robot loop, before the subsystems), otherwise the
+ * recorded values would not be applied.</b>
+ *
+ * @see NamespaceRecorder
+ */
+public class NamespaceReplayer {
+
+    private static volatile NamespaceReplayer active;
+
+    /**
+     * The times of the records in microseconds, in the order they were recorded.
+     */
+    private final long[] timestamps;
+
+    /**
+     * The full NetworkTables paths of the recorded values.
+     */
+    private final String[] keys;
+
+    private final NetworkTableValue[] values;
+    private final int count;
+
+    /**
+     * The amount of values which were recorded before the beginning of every recorded robot loop.
+     */
+    private final int[] loopEnds;
+
+    /**
+     * The latest value of every key which has been replayed so far.
+     */
+    private final Map<String, NetworkTableValue> currentValues = new ConcurrentHashMap<>();
+
+    private int index;
+    private int loop;
+    private double startTime = Double.NaN;
+
+    /**
+     * Constructs a new instance of {@link NamespaceReplayer} which replays the given recording.
+     *
+     * @param filename the path of a log file written while a {@link NamespaceRecorder} was recording
+     * @throws IOException if the file cannot be read or is not a valid log file
+     */
+    public NamespaceReplayer(String filename) throws IOException {
+        DataLogReader reader = new DataLogReader(filename);
+        if (!reader.isValid()) {
+            throw new IOException(filename + " is not a valid log file");
+        }
+        Map<Integer, DataLogRecord.StartRecordData> entries = new HashMap<>();
+        List<DataLogRecord> records = new ArrayList<>();
+        List<DataLogRecord.StartRecordData> recordEntries = new ArrayList<>();
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                DataLogRecord.StartRecordData data = record.getStartData();
+                entries.put(data.entry, data);
+            } else if (record.isFinish()) {
+                entries.remove(record.getFinishEntry());
+            } else if (!record.isControl()) {
+                DataLogRecord.StartRecordData entry = entries.get(record.getEntry());
+                if (entry != null) {
+                    records.add(record);
+                    recordEntries.add(entry);
+                }
+            }
+        }
+        timestamps = new long[records.size()];
+        keys = new String[records.size()];
+        values = new NetworkTableValue[records.size()];
+        List<Integer> loopEnds = new ArrayList<>();
+        int count = 0;
+        for (int i = 0; i < records.size(); i++) {
+            if (recordEntries.get(i).name.equals(NamespaceRecorder.LOOP_KEY)) {
+                loopEnds.add(count);
+                continue;
+            }
+            NetworkTableValue value = decode(records.get(i), recordEntries.get(i).type);
+            if (value != null) {
+                timestamps[count] = records.get(i).getTimestamp();
+                keys[count] = recordEntries.get(i).name;
+                values[count] = value;
+                count++;
+            }
+        }
+        this.count = count;
+        this.loopEnds = loopEnds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Starts replaying the recording from its beginning. Stops any other replay.
+     */
+    public void start() {
+        index = 0;
+        loop = 0;
+        startTime = Double.NaN;
+        currentValues.clear();
+        active = this;
+    }
+
+    /**
+     * Stops replaying. The tunables keep their last replayed values until they are changed using the NetworkTables.
+     */
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+    }
+
+    /**
+     * Applies all the values which were recorded up to the beginning of the next recorded robot loop, where the first
+     * call after {@link #start()} replays the first loop. If the recording has no loop marks, applies all the values
+     * which were recorded up to the current time instead, where the first call is the beginning of the recording.
+     */
+    public void update() {
+        if (active != this) return;
+        if (loopEnds.length == 0) {
+            double now = Timer.getFPGATimestamp();
+            if (Double.isNaN(startTime)) {
+                startTime = now;
+            }
+            update(now - startTime);
+        } else {
+            apply(loop < loopEnds.length ? loopEnds[loop++] : count);
+        }
+    }
+
+    /**
+     * Applies all the values which were recorded up to the given time.
+     *
+     * @param time the time in seconds since the beginning of the recording
+     */
+    public void update(double time) {
+        if (active != this || count == 0) return;
+        long timestamp = timestamps[0] + (long) (time * 1e6);
+        int end = index;
+        while (end < count && timestamps[end] <= timestamp) {
+            end++;
+        }
+        apply(end);
+    }
+
+    /**
+     * Applies the values up to the given index of the recording.
+     *
+     * @param end the index of the first value which is not applied
+     */
+    private void apply(int end) {
+        while (index < end) {
+            currentValues.put(keys[index], values[index]);
+            Tunable.replay(keys[index], values[index]);
+            index++;
+        }
+    }
+
+    /**
+     * @return whether all the recorded values have been replayed
+     */
+    public boolean isFinished() {
+        return index >= count;
+    }
+
+    /**
+     * @return whether a recording is currently being replayed
+     */
+    public static boolean isReplaying() {
+        return active != null;
+    }
+
+    /**
+     * @param key the full NetworkTables path of the value
+     * @return the latest replayed value of the given key, or {@code null} if nothing is being replayed or the key
+     * has not been replayed yet
+     */
+    static NetworkTableValue getReplayedValue(String key) {
+        NamespaceReplayer replayer = active;
+        return replayer == null ? null : replayer.currentValues.get(key);
+    }
+
+    private static NetworkTableValue decode(DataLogRecord record, String type) {
+        switch (type) {
+            case "double":
+                return NetworkTableValue.makeDouble(record.getDouble());
+            case "int64":
+                return NetworkTableValue.makeInteger(record.getInteger());
+            case "boolean":
+                return NetworkTableValue.makeBoolean(record.getBoolean());
+            case "string":
+                return NetworkTableValue.makeString(record.getString());
+            case "double[]":
+                return NetworkTableValue.makeDoubleArray(record.getDoubleArray());
+            default:
+                return null;
+        }
+    }
+}
@@ -1,67 +1,190 @@
 package com.spikes2212.dashboard;
 
+import com.spikes2212.util.Profiler;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.networktables.NetworkTableValue;
 import edu.wpi.first.util.sendable.Sendable;
 import edu.wpi.first.util.sendable.SendableRegistry;
+import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.smartdashboard.SendableBuilderImpl;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 /**
  * This class represents a "root directory" in the namespace where other {@link ChildNamespace} and values can be saved.
+ *
+ * <p>Values are only sent to the {@link NetworkTable}s when they change. A namespace whose values are not needed at
+ * the full rate of the robot loop (such as a debugging namespace) can be given a lower publish frequency, in which
+ * case an equal share of its values is published on every loop.</p>
  */
 public class RootNamespace implements Namespace {
 
-    private final Map<String, Sendable> TABLES_TO_DATA = new HashMap<>();
+    /**
+     * Counts the sendables which are updated once every few cycles, in all the namespaces, to spread them between
+     * the cycles.
+     */
+    private static final AtomicInteger SENDABLE_OFFSETS = new AtomicInteger();
+
+    private final Map<String, Sendable> TABLES_TO_DATA;
+    private final Map<String, SendableUpdatePolicy> SENDABLE_POLICIES;
+
+    /**
+     * The amount of times the sendables of this namespace have been updated before.
+     */
+    private long sendableCycle;
+
+    /**
+     * The section of a profiler which measures the updates of this namespace, or {@code null} if they are not
+     * measured.
+     */
+    private volatile Profiler.Section updateSection;
+
+    /**
+     * The registry's update count when this namespace's owner last tried to update it, and the amount of times the
+     * owner tried since. Used by the {@link NamespaceRegistry}.
+     */
+    long lastRegistryCycle;
+    int missedRegistryUpdates;
 
     protected String name;
-    protected final Map<String, Supplier<String>> stringFields;
-    protected final Map<String, Supplier<? extends Number>> numberFields;
-    protected final Map<String, Supplier<Boolean>> booleanFields;
     protected final NetworkTable table;
 
+    /**
+     * The root namespace whose table stores this namespace's values. Since the {@link NamespaceRegistry} only holds
+     * the root namespaces weakly, this keeps the root alive, and its values published, as long as any of its
+     * children is used.
+     */
+    protected final RootNamespace root;
+
+    /**
+     * The path from the root namespace's table to this namespace's values, which is prepended to every key. Empty
+     * for a root namespace.
+     */
+    protected final String prefix;
+
+    /**
+     * Publishes the values of this namespace's fields, along with those of all its children.
+     */
+    final NamespacePublisher publisher;
+
     public RootNamespace(String name) {
         this.name = name;
         NetworkTableInstance inst = NetworkTableInstance.getDefault();
         this.table = inst.getTable(this.name);
-        stringFields = new HashMap<>();
-        numberFields = new HashMap<>();
-        booleanFields = new HashMap<>();
+        this.prefix = "";
+        this.root = this;
+        this.publisher = new NamespacePublisher(table);
+        this.TABLES_TO_DATA = new HashMap<>();
+        this.SENDABLE_POLICIES = new HashMap<>();
+        NamespaceRegistry.register(this);
+    }
+
+    /**
+     * Constructs a namespace which stores its values inside the table of the given parent's root namespace. The
+     * full path of the namespace is resolved once, here, and the root's publisher is shared, so adding values to a
+     * deeply nested namespace is as cheap as adding them to the root.
+     *
+     * @param name      the name of the namespace
+     * @param parent    the namespace which contains this one
+     * @param separator the separator between the parent's path and this namespace's name
+     */
+    protected RootNamespace(String name, RootNamespace parent, String separator) {
+        this.name = name;
+        this.table = parent.table;
+        this.prefix = parent.prefix + name + separator;
+        this.root = parent.root;
+        this.publisher = parent.publisher;
+        this.TABLES_TO_DATA = parent.TABLES_TO_DATA;
+        this.SENDABLE_POLICIES = parent.SENDABLE_POLICIES;
+    }
+
+    /**
+     * Constructs a new {@link RootNamespace} whose values are published at the given frequency.
+     *
+     * @param name             the name of the namespace
+     * @param publishFrequency how many times per second each value is published
+     */
+    public RootNamespace(String name, double publishFrequency) {
+        this(name);
+        setPublishFrequency(publishFrequency);
+    }
+
+    /**
+     * Sets how many times per second each of this namespace's values is published. The values are published at
+     * most once per call to {@link #update()}, which is assumed to happen every {@link TimedRobot#kDefaultPeriod}
+     * seconds. The frequency is shared by a root namespace and all of its children.
+     *
+     * @param publishFrequency how many times per second each value is published
+     * @throws IllegalArgumentException when the frequency is not positive
+     */
+    public void setPublishFrequency(double publishFrequency) {
+        if (!(publishFrequency > 0)) throw new IllegalArgumentException("The publish frequency must be positive.");
+        publisher.setPeriod((int) Math.max(1, Math.round(1 / (publishFrequency * TimedRobot.kDefaultPeriod))));
+    }
+
+    /**
+     * @return how many times per second each of this namespace's values is published
+     */
+    public double getPublishFrequency() {
+        return 1 / (publisher.getPeriod() * TimedRobot.kDefaultPeriod);
+    }
+
+    /**
+     * Makes the values of this namespace and all its children be sent to the {@link NetworkTable}s by a
+     * background thread from now on. {@link #update()} then only samples the values and hands the changed ones over
+     * to the thread, without blocking. Should be called from the thread that updates the namespace.
+     */
+    public void enableBackgroundPublishing() {
+        publisher.enableBackgroundPublishing();
+    }
+
+    /**
+     * @return whether the values of this namespace are sent to the {@link NetworkTable}s by a background thread
+     */
+    public boolean isPublishedInBackground() {
+        return publisher.isPublishedInBackground();
     }
 
     @Override
-    public Supplier<Double> addConstantDouble(String name, double value) {
-        NetworkTableEntry entry = table.getEntry(name);
-        if (!table.containsKey(name)) {
+    public TunableDouble addConstantDouble(String name, double value) {
+        String key = prefix + name;
+        NetworkTableEntry entry = table.getEntry(key);
+        if (!table.containsKey(key)) {
             entry.setDouble(value);
             entry.setPersistent();
         }
-        return () -> entry.getDouble(value);
+        TunableDouble registered = Tunable.getRegistered(entry, TunableDouble.class);
+        return registered != null ? registered : new TunableDouble(entry, value);
     }
 
     @Override
-    public Supplier<Integer> addConstantInt(String name, int value) {
-        NetworkTableEntry entry = table.getEntry(name);
-        if (!table.containsKey(name)) {
+    public TunableInt addConstantInt(String name, int value) {
+        String key = prefix + name;
+        NetworkTableEntry entry = table.getEntry(key);
+        if (!table.containsKey(key)) {
             entry.setNumber(value);
             entry.setPersistent();
         }
-        return () -> entry.getNumber(value).intValue();
+        TunableInt registered = Tunable.getRegistered(entry, TunableInt.class);
+        return registered != null ? registered : new TunableInt(entry, value);
     }
 
     @Override
-    public Supplier<String> addConstantString(String name, String value) {
-        NetworkTableEntry entry = table.getEntry(name);
-        if (!table.containsKey(name)) {
+    public TunableString addConstantString(String name, String value) {
+        String key = prefix + name;
+        NetworkTableEntry entry = table.getEntry(key);
+        if (!table.containsKey(key)) {
             entry.setString(value);
             entry.setPersistent();
         }
-        return () -> entry.getString(value);
+        TunableString registered = Tunable.getRegistered(entry, TunableString.class);
+        return registered != null ? registered : new TunableString(entry, value);
     }
 
     @Override
@@ -71,10 +194,17 @@ public class RootNamespace implements Namespace {
 
     @Override
     public void putData(String key, Sendable value) {
-        Sendable sddata = TABLES_TO_DATA.get(key);
+        putData(key, value, SendableUpdatePolicy.everyCycle());
+    }
+
+    @Override
+    public void putData(String key, Sendable value, SendableUpdatePolicy policy) {
+        String path = prefix + key;
+        SENDABLE_POLICIES.put(path, policy);
+        Sendable sddata = TABLES_TO_DATA.get(path);
         if (sddata == null || sddata != value) {
-            TABLES_TO_DATA.put(key, value);
-            NetworkTable dataTable = table.getSubTable(key);
+            TABLES_TO_DATA.put(path, value);
+            NetworkTable dataTable = table.getSubTable(path);
             SendableBuilderImpl builder = new SendableBuilderImpl();
             builder.setTable(dataTable);
             SendableRegistry.publish(value, builder);
@@ -85,94 +215,125 @@ public class RootNamespace implements Namespace {
 
     @Override
     public Sendable getSendable(String key) {
-        NetworkTableEntry entry = this.table.getEntry(key);
+        NetworkTableEntry entry = this.table.getEntry(prefix + key);
         NetworkTableValue value = entry.getValue();
         return (Sendable) value.getValue();
     }
 
     @Override
     public void putString(String key, Supplier<String> value) {
-        remove(key);
-        NetworkTableEntry entry = this.table.getEntry(key);
-        entry.setString(value.get());
-        stringFields.put(key, value);
+        publisher.putString(prefix + key, value);
     }
 
     @Override
     public String getString(String key) {
-        NetworkTableEntry entry = this.table.getEntry(key);
-        NetworkTableValue value = entry.getValue();
+        NetworkTableValue value = getValue(key);
         return value.getString();
     }
 
     @Override
     public void putNumber(String key, Supplier<? extends Number> value) {
-        remove(key);
-        NetworkTableEntry entry = this.table.getEntry(key);
-        entry.setNumber(value.get());
-        numberFields.put(key, value);
+        putNumber(key, value, 0);
+    }
+
+    @Override
+    public void putNumber(String key, Supplier<? extends Number> value, double deadband) {
+        putDouble(key, () -> value.get().doubleValue(), deadband);
+    }
+
+    @Override
+    public void putDouble(String key, DoubleSupplier value, double deadband) {
+        publisher.putNumber(prefix + key, value, deadband);
     }
 
     @Override
     public double getNumber(String key) {
-        NetworkTableEntry entry = this.table.getEntry(key);
-        NetworkTableValue value = entry.getValue();
+        NetworkTableValue value = getValue(key);
         return value.getDouble();
     }
 
     @Override
     public void putBoolean(String key, Supplier<Boolean> value) {
-        remove(key);
-        NetworkTableEntry entry = this.table.getEntry(key);
-        entry.setBoolean(value.get());
-        booleanFields.put(key, value);
+        publisher.putBoolean(prefix + key, value::get);
+    }
+
+    @Override
+    public void putDoubleArray(String key, Supplier<double[]> value) {
+        publisher.putDoubleArray(prefix + key, value);
     }
 
     @Override
     public boolean getBoolean(String key) {
-        NetworkTableEntry entry = this.table.getEntry(key);
-        NetworkTableValue value = entry.getValue();
+        NetworkTableValue value = getValue(key);
         return value.getBoolean();
     }
 
+    /**
+     * Reads the value of the given key, or its replayed value while a {@link NamespaceReplayer} is replaying.
+     *
+     * @param key the key of the value
+     * @return the value
+     */
+    private NetworkTableValue getValue(String key) {
+        if (NamespaceReplayer.isReplaying()) {
+            NetworkTableValue value = NamespaceReplayer.getReplayedValue(table.getPath() +
+                    NetworkTable.PATH_SEPARATOR + prefix + key);
+            if (value != null) return value;
+        }
+        return table.getEntry(prefix + key).getValue();
+    }
+
     public void remove(String name) {
-        stringFields.remove(name);
-        numberFields.remove(name);
-        booleanFields.remove(name);
+        publisher.remove(prefix + name);
     }
 
+    /**
+     * Updates the namespace, unless the {@link NamespaceRegistry} is responsible for updating it.
+     */
     @Override
     public void update() {
-        updateBoolean();
-        updateNumber();
-        updateString();
-        updateSendable();
-    }
-
-    private void updateString() {
-        for (Map.Entry<String, Supplier<String>> map : stringFields.entrySet()) {
-            NetworkTableEntry entry = this.table.getEntry(map.getKey());
-            entry.setString(map.getValue().get());
+        if (!NamespaceRegistry.isUpdating(this)) {
+            flush();
         }
     }
 
-    private void updateNumber() {
-        for (Map.Entry<String, Supplier<? extends Number>> map : numberFields.entrySet()) {
-            NetworkTableEntry entry = this.table.getEntry(map.getKey());
-            entry.setNumber(map.getValue().get());
-        }
+    /**
+     * Measures every update of this namespace as the given section of a profiler, whether the namespace is updated
+     * by its owner or by the {@link NamespaceRegistry}.
+     *
+     * @param updateSection the section, or {@code null} to stop measuring
+     */
+    public void setUpdateSection(Profiler.Section updateSection) {
+        this.updateSection = updateSection;
     }
 
-    private void updateBoolean() {
-        for (Map.Entry<String, Supplier<Boolean>> map : booleanFields.entrySet()) {
-            NetworkTableEntry entry = this.table.getEntry(map.getKey());
-            entry.setBoolean(map.getValue().get());
-        }
+    /**
+     * Publishes the values and updates the sendables of this namespace and all its children.
+     */
+    void flush() {
+        Profiler.Section section = updateSection;
+        if (section != null) section.start();
+        publisher.update();
+        updateSendable();
+        if (section != null) section.stop();
     }
 
     private void updateSendable() {
-        for (Sendable data : TABLES_TO_DATA.values()) {
-            SendableRegistry.update(data);
+        long cycle = sendableCycle++;
+        for (Map.Entry<String, Sendable> data : TABLES_TO_DATA.entrySet()) {
+            if (SENDABLE_POLICIES.get(data.getKey()).shouldUpdate(cycle)) {
+                SendableRegistry.update(data.getValue());
+            }
         }
     }
+
+    /**
+     * Gives a sendable which is updated once every few cycles its offset within its period.
+     *
+     * @param period the amount of cycles between two updates of the sendable
+     * @return the cycle within the period on which the sendable is updated
+     */
+    static int nextSendableOffset(int period) {
+        return Math.floorMod(SENDABLE_OFFSETS.getAndIncrement(), period);
+    }
 }
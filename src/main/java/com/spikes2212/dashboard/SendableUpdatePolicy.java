@@ -0,0 +1,84 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.util.sendable.Sendable;
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Decides on which cycles a {@link Sendable} in a {@link Namespace} is updated.
+ *
+ * <p>Updating a sendable publishes all of its properties and reads the changes made to them using the
+ * NetworkTables UI, which can be expensive. Sendables that do not need to be updated on every cycle can be given a
+ * policy which updates them less often.</p>
+ *
+ * @see Namespace#putData(String, Sendable, SendableUpdatePolicy)
+ */
+public interface SendableUpdatePolicy {
+
+    /**
+     * Decides whether the sendable should be updated on the given cycle.
+     *
+     * @param cycle the amount of times the namespace has been updated before
+     * @return whether the sendable should be updated
+     */
+    boolean shouldUpdate(long cycle);
+
+    /**
+     * A policy which updates the sendable on every cycle.
+     */
+    SendableUpdatePolicy EVERY_CYCLE = cycle -> true;
+
+    /**
+     * @return a policy which updates the sendable on every cycle, which is always the same instance
+     */
+    static SendableUpdatePolicy everyCycle() {
+        return EVERY_CYCLE;
+    }
+
+    /**
+     * Returns a policy which updates the sendable once every given amount of cycles. The sendables which are given
+     * such policies are spread between the cycles, even across different namespaces, so that they are not all
+     * updated on the same cycle.
+     *
+     * @param period the amount of cycles between two updates
+     * @return the policy
+     */
+    static SendableUpdatePolicy everyNCycles(int period) {
+        if (period <= 1) return everyCycle();
+        int offset = RootNamespace.nextSendableOffset(period);
+        return cycle -> cycle % period == offset;
+    }
+
+    /**
+     * @return a policy which updates the sendable on every cycle while the robot is disabled, and never while it is
+     * enabled
+     */
+    static SendableUpdatePolicy whileDisabled() {
+        return cycle -> DriverStation.isDisabled();
+    }
+
+    /**
+     * Returns a policy which updates the sendable only when the given version has changed since the last update,
+     * such as {@link Tunable#getVersion()} for a sendable which only shows tunable values.
+     *
+     * @param version a number which changes whenever the sendable should be updated
+     * @return the policy
+     */
+    static SendableUpdatePolicy onChange(LongSupplier version) {
+        return new SendableUpdatePolicy() {
+
+            private boolean updated;
+            private long lastVersion;
+
+            @Override
+            public boolean shouldUpdate(long cycle) {
+                long currentVersion = version.getAsLong();
+                if (updated && currentVersion == lastVersion) return false;
+                updated = true;
+                lastVersion = currentVersion;
+                return true;
+            }
+        };
+    }
+}
@@ -4,6 +4,8 @@ import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 
+import java.util.Arrays;
+
 /**
  * A logger class meant to be used with the <a href="https://github.com/Spikes-2212-Programming-Guild/SpikesLogger"> SpikesLogger desktop app </a>
  * to log values from the robot to a computer in real-time.
@@ -19,11 +21,25 @@ public class SpikesLogger extends RootNamespace {
     private final String key;
 
     /**
-     * Creates a SpikesLogger instance with custom name and key for the output location.
+     * A binary log which every output is also written to, or {@code null} to log only to the NetworkTables.
      */
-    public SpikesLogger(String name, String key) {
+    private final TelemetryLogger telemetryLogger;
+
+    /**
+     * Creates a SpikesLogger instance with custom name and key for the output location, which also writes every
+     * output to the given {@link TelemetryLogger}.
+     */
+    public SpikesLogger(String name, String key, TelemetryLogger telemetryLogger) {
         super(name);
         this.key = key;
+        this.telemetryLogger = telemetryLogger;
+    }
+
+    /**
+     * Creates a SpikesLogger instance with custom name and key for the output location.
+     */
+    public SpikesLogger(String name, String key) {
+        this(name, key, null);
     }
 
     /**
@@ -41,12 +57,82 @@ public class SpikesLogger extends RootNamespace {
     }
 
     /**
-     * Logs the provided output to the NetworkTables and the SpikesLogger app.
+     * Logs the provided output to the NetworkTables and the SpikesLogger app. Numbers, booleans and double arrays
+     * are written to the {@link TelemetryLogger} with their own types, each under a key which ends with the type,
+     * and any other output is written as a string.
      *
      * @param output the data to be logged
      */
     public <T> void log(T output) {
-        putString(key, output == null ? "null" : output.toString());
+        if (output instanceof Double) {
+            log(((Double) output).doubleValue());
+        } else if (output instanceof Float) {
+            // keeps the float's own formatting, which is shorter than that of the equivalent double
+            putString(key, output.toString());
+            if (telemetryLogger != null) {
+                telemetryLogger.logDouble(name + "/" + key + "/double", (Float) output);
+            }
+        } else if (output instanceof Long || output instanceof Integer || output instanceof Short ||
+                output instanceof Byte) {
+            log(((Number) output).longValue());
+        } else if (output instanceof Boolean) {
+            log(((Boolean) output).booleanValue());
+        } else if (output instanceof double[]) {
+            double[] array = (double[]) output;
+            putString(key, Arrays.toString(array));
+            if (telemetryLogger != null) {
+                telemetryLogger.logDoubleArray(name + "/" + key + "/double[]", array);
+            }
+        } else {
+            String value = output == null ? "null" : output.toString();
+            putString(key, value);
+            if (telemetryLogger != null) {
+                telemetryLogger.logString(name + "/" + key, value);
+            }
+        }
+    }
+
+    /**
+     * Logs the provided number to the NetworkTables and the SpikesLogger app.
+     *
+     * @param output the data to be logged
+     */
+    public void log(double output) {
+        putString(key, String.valueOf(output));
+        if (telemetryLogger != null) {
+            telemetryLogger.logDouble(name + "/" + key + "/double", output);
+        }
+    }
+
+    /**
+     * Logs the provided integer to the NetworkTables and the SpikesLogger app.
+     *
+     * @param output the data to be logged
+     */
+    public void log(long output) {
+        putString(key, String.valueOf(output));
+        if (telemetryLogger != null) {
+            telemetryLogger.logInteger(name + "/" + key + "/int64", output);
+        }
+    }
+
+    /**
+     * Logs the provided boolean to the NetworkTables and the SpikesLogger app.
+     *
+     * @param output the data to be logged
+     */
+    public void log(boolean output) {
+        putString(key, String.valueOf(output));
+        if (telemetryLogger != null) {
+            telemetryLogger.logBoolean(name + "/" + key + "/boolean", output);
+        }
+    }
+
+    /**
+     * @return the binary log which every output is also written to, or {@code null} if there is none
+     */
+    public TelemetryLogger getTelemetryLogger() {
+        return telemetryLogger;
     }
 
     /**
@@ -0,0 +1,65 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+
+/**
+ * Packs an object into a fixed size array, so all its values can be published as a single entry of a
+ * {@link Namespace}.
+ *
+ * @param <T> the type of the packed objects
+ * @see Namespace#putStruct(String, java.util.function.Supplier, StructPacker)
+ */
+public interface StructPacker<T> {
+
+    /**
+     * Packs a {@link Pose2d} as its x, y and rotation in degrees.
+     */
+    StructPacker<Pose2d> POSE_2D = new StructPacker<>() {
+        @Override
+        public int getSize() {
+            return 3;
+        }
+
+        @Override
+        public void pack(Pose2d value, double[] array) {
+            array[0] = value.getX();
+            array[1] = value.getY();
+            array[2] = value.getRotation().getDegrees();
+        }
+    };
+
+    /**
+     * Packs a {@link Trajectory.State} as its time, velocity, acceleration, x, y, rotation in degrees and curvature.
+     */
+    StructPacker<Trajectory.State> TRAJECTORY_STATE = new StructPacker<>() {
+        @Override
+        public int getSize() {
+            return 7;
+        }
+
+        @Override
+        public void pack(Trajectory.State value, double[] array) {
+            array[0] = value.timeSeconds;
+            array[1] = value.velocityMetersPerSecond;
+            array[2] = value.accelerationMetersPerSecondSq;
+            array[3] = value.poseMeters.getX();
+            array[4] = value.poseMeters.getY();
+            array[5] = value.poseMeters.getRotation().getDegrees();
+            array[6] = value.curvatureRadPerMeter;
+        }
+    };
+
+    /**
+     * @return the length of the arrays the objects are packed into
+     */
+    int getSize();
+
+    /**
+     * Writes the values of the object into the array.
+     *
+     * @param value the object
+     * @param array an array with a length of {@link #getSize()}
+     */
+    void pack(T value, double[] array);
+}
@@ -0,0 +1,86 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes the files written by a {@link TelemetryLogger} into readable text, with one line per record in the form
+ * {@code timestamp,key,value}, where the timestamp is in seconds.
+ *
+ * <p>Can be run from a computer after the log files were copied from the robot:</p>
+ * <pre>
+ * java -cp ... com.spikes2212.dashboard.TelemetryLogDecoder telemetry_12_0.wpilog
+ * </pre>
+ */
+public class TelemetryLogDecoder {
+
+    private TelemetryLogDecoder() {
+    }
+
+    /**
+     * Decodes every log file given as an argument and prints the records to the standard output.
+     *
+     * @param args the paths of the log files
+     */
+    public static void main(String[] args) throws IOException {
+        for (String filename : args) {
+            decode(filename, System.out);
+        }
+    }
+
+    /**
+     * Decodes a log file and prints its records.
+     *
+     * @param filename the path of the log file
+     * @param out      the stream the records are printed to
+     * @throws IOException if the file cannot be read or is not a valid log file
+     */
+    public static void decode(String filename, PrintStream out) throws IOException {
+        DataLogReader reader = new DataLogReader(filename);
+        if (!reader.isValid()) {
+            throw new IOException(filename + " is not a valid log file");
+        }
+        Map<Integer, DataLogRecord.StartRecordData> entries = new HashMap<>();
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                DataLogRecord.StartRecordData data = record.getStartData();
+                entries.put(data.entry, data);
+            } else if (record.isFinish()) {
+                entries.remove(record.getFinishEntry());
+            } else if (!record.isControl()) {
+                DataLogRecord.StartRecordData entry = entries.get(record.getEntry());
+                if (entry != null) {
+                    out.println(record.getTimestamp() / 1e6 + "," + entry.name + "," + decodeValue(record,
+                            entry.type));
+                }
+            }
+        }
+    }
+
+    private static String decodeValue(DataLogRecord record, String type) {
+        switch (type) {
+            case "double":
+                return String.valueOf(record.getDouble());
+            case "int64":
+                return String.valueOf(record.getInteger());
+            case "boolean":
+                return String.valueOf(record.getBoolean());
+            case "string":
+                return record.getString();
+            case "double[]":
+                return Arrays.toString(record.getDoubleArray());
+            case "boolean[]":
+                return Arrays.toString(record.getBooleanArray());
+            case "string[]":
+                return Arrays.toString(record.getStringArray());
+            default:
+                return "<" + record.getSize() + " bytes of " + type + ">";
+        }
+    }
+}
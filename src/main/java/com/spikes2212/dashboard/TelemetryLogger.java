@@ -0,0 +1,334 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs typed, timestamped values to binary, append-only files on the robot, which can be read after a match
+ * using {@link TelemetryLogDecoder} or any tool that reads WPILib data logs (such as AdvantageScope).
+ *
+ * <p>The values are written using a WPILib {@link DataLog}, which copies each record into an in-memory buffer and
+ * writes the buffers to the file from a background thread, so logging never blocks the robot loop on I/O and
+ * does not go through the NetworkTables. The logger itself takes no locks when logging, and values can be logged
+ * from any thread.</p>
+ *
+ * <p>A background thread of the logger checks the size of the current file once in a while. When the file grows
+ * larger than the maximum file size, the thread starts a new file, and closes the previous one a little later,
+ * once no thread is writing to it anymore. The oldest files are deleted so that no more than the maximum amount of
+ * files is kept, including the files that were written by loggers with the same name on previous boots.</p>
+ *
+ * <p>A key keeps the type it was first logged with. Values of another type which are logged under the same key are
+ * dropped, and a warning is reported to the driver station.</p>
+ *
+ * <p>The files are named after the logger, a boot number and a file number, such as {@code robot_12_0.wpilog}.
+ * The boot number is one more than the highest one in the directory, since the robot's clock is not set until the
+ * driver station connects, so dates cannot be used to order the files.</p>
+ *
+ * @see SpikesLogger
+ */
+public class TelemetryLogger implements AutoCloseable {
+
+    /**
+     * The default maximum size of a single log file in bytes.
+     */
+    public static final long DEFAULT_MAX_FILE_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * The default maximum amount of log files that are kept.
+     */
+    public static final int DEFAULT_MAX_FILES = 8;
+
+    /**
+     * The time in milliseconds between two checks of the current file's size.
+     */
+    private static final long ROTATION_CHECK_PERIOD_MS = 1000;
+
+    private final String directory;
+    private final String name;
+    private final long maxFileSize;
+    private final int maxFiles;
+
+    /**
+     * The files of loggers with this logger's name, including those of previous boots, from oldest to newest. Only
+     * used by the constructor and the rotation thread.
+     */
+    private final Deque<String> files = new ArrayDeque<>();
+
+    /**
+     * The data type of every key that was logged.
+     */
+    private final Map<String, String> entryTypes = new ConcurrentHashMap<>();
+
+    /**
+     * The keys which were logged with the wrong type, and were already reported.
+     */
+    private final Set<String> mismatchedKeys = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService rotationThread;
+
+    /**
+     * The file which is currently written to.
+     */
+    private volatile LogFile current;
+
+    /**
+     * The previous file, which is closed on the next check of the file size, or {@code null} if there is none.
+     */
+    private LogFile previous;
+
+    private int fileIndex;
+
+    /**
+     * Constructs a new instance of {@link TelemetryLogger}.
+     *
+     * @param directory   the directory in which the log files are created
+     * @param name        the name of the logger, which starts the name of every log file
+     * @param maxFileSize the size in bytes after which a new log file is started
+     * @param maxFiles    the maximum amount of log files that are kept
+     */
+    public TelemetryLogger(String directory, String name, long maxFileSize, int maxFiles) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.name = name + "_" + (findExistingFiles(name) + 1);
+        current = openFile();
+        rotationThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Telemetry Logger " + this.name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotationThread.scheduleWithFixedDelay(this::checkRotation, ROTATION_CHECK_PERIOD_MS,
+                ROTATION_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a new instance of {@link TelemetryLogger} which writes to the default WPILib log directory, with the
+     * default maximum file size and amount of files.
+     *
+     * @param name the name of the logger, which starts the name of every log file
+     */
+    public TelemetryLogger(String name) {
+        this(DataLogManager.getLogDir(), name, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Logs a double under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logDouble(String key, double value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "double");
+        if (entry != 0) file.log.appendDouble(entry, value, 0);
+    }
+
+    /**
+     * Logs an integer under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logInteger(String key, long value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "int64");
+        if (entry != 0) file.log.appendInteger(entry, value, 0);
+    }
+
+    /**
+     * Logs a boolean under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logBoolean(String key, boolean value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "boolean");
+        if (entry != 0) file.log.appendBoolean(entry, value, 0);
+    }
+
+    /**
+     * Logs a string under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logString(String key, String value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "string");
+        if (entry != 0) file.log.appendString(entry, value, 0);
+    }
+
+    /**
+     * Logs an array of doubles under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logDoubleArray(String key, double[] value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "double[]");
+        if (entry != 0) file.log.appendDoubleArray(entry, value, 0);
+    }
+
+    /**
+     * Logs an array of booleans under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logBooleanArray(String key, boolean[] value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "boolean[]");
+        if (entry != 0) file.log.appendBooleanArray(entry, value, 0);
+    }
+
+    /**
+     * Logs an array of strings under the given key.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     */
+    public void logStringArray(String key, String[] value) {
+        LogFile file = current;
+        int entry = getEntry(file, key, "string[]");
+        if (entry != 0) file.log.appendStringArray(entry, value, 0);
+    }
+
+    /**
+     * Writes all the buffered records to the current file.
+     */
+    public void flush() {
+        current.log.flush();
+    }
+
+    /**
+     * Writes all the buffered records and closes the files. Nothing can be logged afterwards.
+     */
+    @Override
+    public void close() {
+        rotationThread.shutdown();
+        try {
+            rotationThread.awaitTermination(ROTATION_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (previous != null) {
+                previous.log.close();
+                previous = null;
+            }
+            current.log.close();
+        }
+    }
+
+    /**
+     * Resolves the id of the given key's entry in the given file, starting the entry if it is new.
+     *
+     * @param file the file the value is written to
+     * @param key  the key of the entry
+     * @param type the data type of the logged value
+     * @return the id of the entry, or 0 if the key was already logged with another type
+     */
+    private int getEntry(LogFile file, String key, String type) {
+        Integer id = file.entryIds.get(key);
+        if (id == null) {
+            String existingType = entryTypes.putIfAbsent(key, type);
+            if (existingType != null && !existingType.equals(type)) {
+                reportMismatch(key, existingType, type);
+                return 0;
+            }
+            id = file.entryIds.computeIfAbsent(key, k -> file.log.start(k, type));
+        } else if (!entryTypes.get(key).equals(type)) {
+            reportMismatch(key, entryTypes.get(key), type);
+            return 0;
+        }
+        return id;
+    }
+
+    private void reportMismatch(String key, String existingType, String type) {
+        if (mismatchedKeys.add(key)) {
+            DriverStation.reportWarning("The key " + key + " was already logged as " + existingType +
+                    ", so its values of type " + type + " are not logged", false);
+        }
+    }
+
+    /**
+     * Closes the previous file, and starts a new file if the current one is full. Called by the rotation thread.
+     */
+    private synchronized void checkRotation() {
+        if (previous != null) {
+            previous.log.close();
+            previous = null;
+        }
+        if (rotationThread.isShutdown() || new File(directory, files.getLast()).length() < maxFileSize) return;
+        LogFile next = openFile();
+        for (Map.Entry<String, String> entry : entryTypes.entrySet()) {
+            next.entryIds.computeIfAbsent(entry.getKey(), key -> next.log.start(key, entry.getValue()));
+        }
+        previous = current;
+        current = next;
+    }
+
+    /**
+     * Adds the existing files of loggers with the given name to the list of files, from oldest to newest.
+     *
+     * @param name the name of the logger
+     * @return the highest boot number of the existing files, or 0 if there are none
+     */
+    private long findExistingFiles(String name) {
+        String[] filenames = new File(directory).list();
+        if (filenames == null) return 0;
+        Pattern pattern = Pattern.compile(Pattern.quote(name) + "_(\\d+)_(\\d+)\\.wpilog");
+        List<long[]> existing = new ArrayList<>();
+        for (int i = 0; i < filenames.length; i++) {
+            Matcher matcher = pattern.matcher(filenames[i]);
+            if (matcher.matches()) {
+                existing.add(new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)), i});
+            }
+        }
+        existing.sort(Comparator.<long[]>comparingLong(file -> file[0]).thenComparingLong(file -> file[1]));
+        for (long[] file : existing) {
+            files.addLast(filenames[(int) file[2]]);
+        }
+        return existing.isEmpty() ? 0 : existing.get(existing.size() - 1)[0];
+    }
+
+    private LogFile openFile() {
+        String filename = name + "_" + fileIndex++ + ".wpilog";
+        while (files.size() >= maxFiles) {
+            new File(directory, files.removeFirst()).delete();
+        }
+        files.addLast(filename);
+        return new LogFile(new DataLog(directory, filename));
+    }
+
+    /**
+     * A log file, with the ids of the entries which were started in it.
+     */
+    private static class LogFile {
+
+        private final DataLog log;
+        private final Map<String, Integer> entryIds = new ConcurrentHashMap<>();
+
+        private LogFile(DataLog log) {
+            this.log = log;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTableValue;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The base class of the values in a {@link Namespace} which can be changed using the NetworkTables UI.
+ *
+ * <p>A tunable caches its value and updates it from a NetworkTables listener, so reading it never touches the
+ * NetworkTables. Every tunable counts its own changes, which lets consumers skip reapplying settings (for example to
+ * a PID controller) when none of their tunables has changed. Every change to any tunable also increments a global
+ * version.</p>
+ *
+ * <p>Tunables take part in recording and replay: while a {@link NamespaceRecorder} is recording, every value of a
+ * tunable is recorded, and while a {@link NamespaceReplayer} is replaying, the tunable takes its values from the
+ * recording instead of from the NetworkTables.</p>
+ *
+ * @see TunableDouble
+ * @see TunableInt
+ * @see TunableString
+ */
+public abstract class Tunable {
+
+    private static final AtomicLong version = new AtomicLong();
+
+    /**
+     * All the tunables that were registered, by the full NetworkTables path of their entries.
+     */
+    private static final Map<String, Tunable> tunables = new ConcurrentHashMap<>();
+
+    /**
+     * The full NetworkTables path of the entry the value is stored in.
+     */
+    protected final String key;
+
+    private final NetworkTableInstance instance;
+
+    /**
+     * The handle of the listener which updates the cached value.
+     */
+    private final int listenerHandle;
+
+    /**
+     * The amount of times the cached value has changed. Only changed by one thread at a time, since the listener
+     * ignores changes while the value is replayed.
+     */
+    private volatile long changeCount;
+
+    /**
+     * Starts listening to changes in the given entry. Subclasses should read the entry's current value into their
+     * cache afterwards, and then call {@link #register()}.
+     *
+     * @param entry the entry the value is stored in
+     */
+    protected Tunable(NetworkTableEntry entry) {
+        key = entry.getName();
+        instance = entry.getInstance();
+        listenerHandle = instance.addListener(entry, EnumSet.of(NetworkTableEvent.Kind.kValueAll),
+                event -> {
+                    if (event.valueData != null && !NamespaceReplayer.isReplaying()) {
+                        update(event.valueData.value);
+                        NamespaceRecorder.record(key, getValue());
+                    }
+                });
+    }
+
+    /**
+     * @return a number which changes whenever the value of any tunable changes
+     */
+    public static long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return a number which changes whenever the value of this tunable changes
+     */
+    public long getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Returns the tunable which was registered for the given entry, if it is of the given type, so that adding the
+     * same tunable again (for example when commands are recreated) reuses it instead of adding another listener.
+     *
+     * @param entry the entry the value is stored in
+     * @param type  the type of the tunable
+     * @return the registered tunable, or {@code null} if there is no tunable of the given type for the entry
+     */
+    static <T extends Tunable> T getRegistered(NetworkTableEntry entry, Class<T> type) {
+        Tunable tunable = tunables.get(entry.getName());
+        return type.isInstance(tunable) ? type.cast(tunable) : null;
+    }
+
+    /**
+     * Records the current value of every tunable. Called when a recording starts.
+     */
+    static void recordAll() {
+        for (Tunable tunable : tunables.values()) {
+            NamespaceRecorder.record(tunable.key, tunable.getValue());
+        }
+    }
+
+    /**
+     * Sets the value of a tunable from a recording.
+     *
+     * @param key   the full NetworkTables path of the tunable's entry
+     * @param value the recorded value
+     */
+    static void replay(String key, NetworkTableValue value) {
+        Tunable tunable = tunables.get(key);
+        if (tunable != null) {
+            tunable.update(value);
+        }
+    }
+
+    /**
+     * Makes the tunable available for recording and replay. Should be called at the end of the subclass's
+     * constructor, once the cached value is initialized.
+     */
+    protected final void register() {
+        Tunable previous = tunables.put(key, this);
+        if (previous != null && previous != this) {
+            // a tunable of another type replaced it, so it is not updated anymore
+            previous.instance.removeListener(previous.listenerHandle);
+        }
+        NetworkTableValue replayed = NamespaceReplayer.getReplayedValue(key);
+        if (replayed != null) {
+            update(replayed);
+        }
+        NamespaceRecorder.record(key, getValue());
+    }
+
+    /**
+     * Caches a new value received from the NetworkTables. Called from the NetworkTables listener thread.
+     *
+     * @param value the new value
+     */
+    protected abstract void update(NetworkTableValue value);
+
+    /**
+     * @return the cached value, as a {@link NetworkTableValue}
+     */
+    protected abstract NetworkTableValue getValue();
+
+    /**
+     * Should be called after the cached value has been changed.
+     */
+    protected void changed() {
+        changeCount++;
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,59 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableValue;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A double value in a {@link Namespace} which can be changed using the {@link NetworkTable}s UI,
+ * such as the shuffleboard.
+ *
+ * <p>The value can be read without boxing using {@link #getAsDouble()}, since it is also a {@link DoubleSupplier}.
+ * The settings classes, such as {@link com.spikes2212.control.PIDSettings}, read it that way when it is passed to
+ * them.</p>
+ *
+ * @see Namespace#addConstantDouble(String, double)
+ */
+public class TunableDouble extends Tunable implements Supplier<Double>, DoubleSupplier {
+
+    private volatile double value;
+
+    TunableDouble(NetworkTableEntry entry, double defaultValue) {
+        super(entry);
+        value = entry.getNumber(defaultValue).doubleValue();
+        register();
+    }
+
+    /**
+     * @return the current value
+     */
+    @Override
+    public double getAsDouble() {
+        return value;
+    }
+
+    @Override
+    public Double get() {
+        return getAsDouble();
+    }
+
+    @Override
+    protected void update(NetworkTableValue value) {
+        if (value.isDouble()) {
+            this.value = value.getDouble();
+        } else if (value.isInteger()) {
+            this.value = value.getInteger();
+        } else {
+            return;
+        }
+        changed();
+    }
+
+    @Override
+    protected NetworkTableValue getValue() {
+        return NetworkTableValue.makeDouble(value);
+    }
+}
@@ -0,0 +1,59 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableValue;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * An integer value in a {@link Namespace} which can be changed using the {@link NetworkTable}s UI,
+ * such as the shuffleboard.
+ *
+ * <p>The value can be read without boxing using {@link #getAsInt()}, since it is also an {@link IntSupplier}. The
+ * settings classes, such as {@link com.spikes2212.control.TrapezoidProfileSettings}, read it that way when it is
+ * passed to them.</p>
+ *
+ * @see Namespace#addConstantInt(String, int)
+ */
+public class TunableInt extends Tunable implements Supplier<Integer>, IntSupplier {
+
+    private volatile int value;
+
+    TunableInt(NetworkTableEntry entry, int defaultValue) {
+        super(entry);
+        value = entry.getNumber(defaultValue).intValue();
+        register();
+    }
+
+    /**
+     * @return the current value
+     */
+    @Override
+    public int getAsInt() {
+        return value;
+    }
+
+    @Override
+    public Integer get() {
+        return getAsInt();
+    }
+
+    @Override
+    protected void update(NetworkTableValue value) {
+        if (value.isDouble()) {
+            this.value = (int) value.getDouble();
+        } else if (value.isInteger()) {
+            this.value = (int) value.getInteger();
+        } else {
+            return;
+        }
+        changed();
+    }
+
+    @Override
+    protected NetworkTableValue getValue() {
+        return NetworkTableValue.makeInteger(value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.spikes2212.dashboard;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableValue;
+
+import java.util.function.Supplier;
+
+/**
+ * A string value in a {@link Namespace} which can be changed using the {@link NetworkTable}s UI,
+ * such as the shuffleboard.
+ *
+ * @see Namespace#addConstantString(String, String)
+ */
+public class TunableString extends Tunable implements Supplier<String> {
+
+    private volatile String value;
+
+    TunableString(NetworkTableEntry entry, String defaultValue) {
+        super(entry);
+        value = entry.getString(defaultValue);
+        register();
+    }
+
+    @Override
+    public String get() {
+        return value;
+    }
+
+    @Override
+    protected void update(NetworkTableValue value) {
+        if (!value.isString()) return;
+        this.value = value.getString();
+        changed();
+    }
+
+    @Override
+    protected NetworkTableValue getValue() {
+        return NetworkTableValue.makeString(value);
+    }
+}
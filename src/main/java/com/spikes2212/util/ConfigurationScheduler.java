@@ -0,0 +1,185 @@
+package com.spikes2212.util;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spreads the configuration of motor controllers over several robot loops, so that configuring all of them at once
+ * does not block the main thread or flood the CAN bus.
+ *
+ * <p>Configuration operations are queued from every subsystem and run in the order they were scheduled. On every
+ * update, operations are run until the amount of CAN frames they are estimated to send reaches the budget. An
+ * operation which fails is retried on the following updates, before any operation scheduled after it, up to a
+ * maximum amount of attempts, after which the failure is reported to the driver station. Operations can depend on
+ * previously scheduled ones using {@link Task#then(String, int, BooleanSupplier)}, in which case they fail without
+ * running if the operation they depend on fails, so a chain of operations completes only if all of them do.</p>
+ *
+ * <b>The update method should be called once per robot loop, in the {@code robotPeriodic()} method in
+ * {@code Robot}.</b>
+ */
+public class ConfigurationScheduler {
+
+    /**
+     * The default amount of CAN frames that are sent per update.
+     */
+    public static final int DEFAULT_FRAMES_PER_UPDATE = 8;
+
+    /**
+     * The default amount of times an operation is attempted before it is considered failed.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private static final Queue<Task> tasks = new ArrayDeque<>();
+
+    private static int framesPerUpdate = DEFAULT_FRAMES_PER_UPDATE;
+    private static int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    private ConfigurationScheduler() {
+    }
+
+    /**
+     * Queues a configuration operation.
+     *
+     * @param name      a name which describes the operation in failure reports
+     * @param frames    the estimated amount of CAN frames the operation sends
+     * @param operation the operation, which returns whether it succeeded
+     * @return the scheduled task, which reports whether the operation has completed
+     */
+    public static Task schedule(String name, int frames, BooleanSupplier operation) {
+        return schedule(name, frames, operation, null);
+    }
+
+    private static synchronized Task schedule(String name, int frames, BooleanSupplier operation,
+                                              Task dependency) {
+        Task task = new Task(name, frames, operation, dependency);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs the queued operations until the CAN frame budget of this update is used. At least one operation is run
+     * on every update, even if its estimated frames exceed the budget.
+     */
+    public static synchronized void update() {
+        int frames = 0;
+        while (!tasks.isEmpty() && (frames == 0 || frames + tasks.peek().frames <= framesPerUpdate)) {
+            Task task = tasks.peek();
+            if (task.dependency != null && task.dependency.state == Task.State.FAILED) {
+                tasks.remove();
+                task.state = Task.State.FAILED;
+                continue;
+            }
+            frames += task.frames;
+            if (task.attempt()) {
+                tasks.remove();
+            } else if (task.attempts >= maxAttempts) {
+                tasks.remove();
+                task.state = Task.State.FAILED;
+                DriverStation.reportError("Motor controller configuration failed after " + task.attempts +
+                        " attempts: " + task.name, false);
+            } else {
+                // retried on the next update, before the tasks that depend on it
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return whether there are no queued operations
+     */
+    public static synchronized boolean isIdle() {
+        return tasks.isEmpty();
+    }
+
+    /**
+     * @return the amount of queued operations
+     */
+    public static synchronized int getPendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Sets the amount of CAN frames that are sent per update.
+     *
+     * @param framesPerUpdate the estimated amount of CAN frames
+     * @throws IllegalArgumentException when the amount of frames is not positive
+     */
+    public static synchronized void setFramesPerUpdate(int framesPerUpdate) {
+        if (framesPerUpdate < 1) throw new IllegalArgumentException("The amount of frames must be positive.");
+        ConfigurationScheduler.framesPerUpdate = framesPerUpdate;
+    }
+
+    /**
+     * Sets the amount of times an operation is attempted before it is considered failed.
+     *
+     * @param maxAttempts the maximum amount of attempts
+     */
+    public static synchronized void setMaxAttempts(int maxAttempts) {
+        ConfigurationScheduler.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * A scheduled configuration operation.
+     */
+    public static class Task {
+
+        /**
+         * The states of a task.
+         */
+        public enum State {
+            PENDING, COMPLETED, FAILED
+        }
+
+        private final String name;
+        private final int frames;
+        private final BooleanSupplier operation;
+        private final Task dependency;
+        private volatile State state = State.PENDING;
+        private int attempts;
+
+        private Task(String name, int frames, BooleanSupplier operation, Task dependency) {
+            this.name = name;
+            this.frames = frames;
+            this.operation = operation;
+            this.dependency = dependency;
+        }
+
+        /**
+         * Queues a configuration operation which runs only after this one completes. If this operation fails, the
+         * new one fails without running.
+         *
+         * @param name      a name which describes the operation in failure reports
+         * @param frames    the estimated amount of CAN frames the operation sends
+         * @param operation the operation, which returns whether it succeeded
+         * @return the scheduled task
+         */
+        public Task then(String name, int frames, BooleanSupplier operation) {
+            return schedule(name, frames, operation, this);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * @return whether the operation is no longer queued, either because it completed or because it failed
+         */
+        public boolean isDone() {
+            return state != State.PENDING;
+        }
+
+        private boolean attempt() {
+            attempts++;
+            if (!operation.getAsBoolean()) return false;
+            state = State.COMPLETED;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.spikes2212.util;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of durations in nanoseconds, which can estimate percentiles without storing every sample.
+ *
+ * <p>The durations are counted in logarithmic buckets, where every power of two is split into 16 equal
+ * sub-buckets, so every percentile is accurate to about 6% at any scale, using a fixed amount of memory and no
+ * allocations while recording.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Adds a duration to the histogram.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[getIndex(nanos)]++;
+        count++;
+        total += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    /**
+     * Removes all the recorded durations.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the longest recorded duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean of the recorded durations in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations. The estimate is the upper bound of the bucket the
+     * percentile falls in, so it is never lower than the actual value.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the estimated duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(getUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int getIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (nanos >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long getUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
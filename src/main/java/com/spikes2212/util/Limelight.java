@@ -186,6 +186,28 @@ public class Limelight {
         return getEntry("tl").getDouble(0.00);
     }
 
+    /**
+     * @return the time between the end of the exposure of the middle row of the sensor and the beginning of the
+     * tracking pipeline (ms)
+     */
+    public double getCaptureLatency() {
+        return getEntry("cl").getDouble(0.00);
+    }
+
+    /**
+     * @return the total time from the capture of the current frame until its results were published (ms)
+     */
+    public double getTotalLatency() {
+        return getTargetLatency() + getCaptureLatency();
+    }
+
+    /**
+     * @return a value that is incremented once per processed frame, which can be used to detect new frames
+     */
+    public double getHeartbeat() {
+        return getEntry("hb").getDouble(0.00);
+    }
+
     /**
      * @return the target width in pixels, depending on the camera resolution
      */
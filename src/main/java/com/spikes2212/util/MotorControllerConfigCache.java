@@ -0,0 +1,272 @@
+package com.spikes2212.util;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.can.BaseMotorController;
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.REVLibError;
+import com.revrobotics.SparkMaxPIDController;
+import com.spikes2212.control.FeedForwardSettings;
+import com.spikes2212.control.PIDSettings;
+import com.spikes2212.control.TrapezoidProfileSettings;
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.util.Arrays;
+
+/**
+ * Remembers the loop configurations that were last applied to a motor controller, so that configurations which
+ * have not changed are not sent over the CAN bus again.
+ *
+ * <p>A value is recorded only after the motor controller acknowledged it, so values whose configuration failed are
+ * sent again the next time. When the motor controller is found to have reset, such as after a brownout, everything
+ * is sent again. After the motor controller is restored to its factory defaults, the cache should be
+ * invalidated.</p>
+ *
+ * <p>CTRE configurations are sent without waiting for an acknowledgement by default, so they can be applied from the
+ * control loop without blocking it. The overloads that take a timeout wait for the motor controller to acknowledge
+ * every value, and should only be used while configuring, such as in a {@link ConfigurationScheduler} task.</p>
+ *
+ * <p>A Spark MAX reports a reset with a sticky fault, which has to be cleared so the next reset can be detected.
+ * Since a Spark MAX can only clear all of its sticky faults together, any other sticky fault is reported to the
+ * driver station before they are cleared.</p>
+ */
+public class MotorControllerConfigCache {
+
+    /**
+     * The configurations that are cached.
+     */
+    public enum Parameter {
+        P, I, D, F, MAX_ACCELERATION, MAX_VELOCITY, CURVE
+    }
+
+    /**
+     * The time in milliseconds to wait for a CTRE motor controller to acknowledge a configuration, when
+     * configuring outside the control loop.
+     */
+    public static final int CTRE_TIMEOUT_MS = 10;
+
+    private static final int PARAMETERS = Parameter.values().length;
+
+    private final double[] values;
+
+    /**
+     * Constructs a new instance of {@link MotorControllerConfigCache}.
+     *
+     * @param slots the amount of loop slots on the motor controller
+     */
+    public MotorControllerConfigCache(int slots) {
+        this.values = new double[slots * PARAMETERS];
+        invalidate();
+    }
+
+    /**
+     * Checks whether the given value is the one that was last applied to the given parameter.
+     *
+     * @param parameter the configuration
+     * @param slot      the loop slot of the configuration
+     * @param value     the value to be applied
+     * @return {@code true} if the value is already applied, {@code false} if it should be sent
+     */
+    public boolean isApplied(Parameter parameter, int slot, double value) {
+        return Double.doubleToLongBits(values[getIndex(parameter, slot)]) == Double.doubleToLongBits(value);
+    }
+
+    /**
+     * Records a value that was applied successfully.
+     *
+     * @param parameter the configuration
+     * @param slot      the loop slot of the configuration
+     * @param value     the applied value
+     */
+    public void setApplied(Parameter parameter, int slot, double value) {
+        values[getIndex(parameter, slot)] = value;
+    }
+
+    /**
+     * Applies the PID constants and feed forward gains which have changed to a CTRE motor controller, without
+     * waiting for it to acknowledge them.
+     *
+     * @param motorController     the motor controller
+     * @param slot                the loop slot to configure
+     * @param pidSettings         the PID constants
+     * @param feedForwardSettings the feed forward gains
+     * @return whether all the values are applied
+     */
+    public boolean configPIDF(BaseMotorController motorController, int slot, PIDSettings pidSettings,
+                              FeedForwardSettings feedForwardSettings) {
+        return configPIDF(motorController, slot, pidSettings, feedForwardSettings, 0);
+    }
+
+    /**
+     * Applies the PID constants and feed forward gains which have changed to a CTRE motor controller.
+     *
+     * @param motorController     the motor controller
+     * @param slot                the loop slot to configure
+     * @param pidSettings         the PID constants
+     * @param feedForwardSettings the feed forward gains
+     * @param timeoutMs           the time in milliseconds to wait for each value to be acknowledged, or 0 to not
+     *                            wait
+     * @return whether all the values are applied
+     */
+    public boolean configPIDF(BaseMotorController motorController, int slot, PIDSettings pidSettings,
+                              FeedForwardSettings feedForwardSettings, int timeoutMs) {
+        checkReset(motorController);
+        boolean applied = true;
+        double kP = pidSettings.getkP();
+        if (!isApplied(Parameter.P, slot, kP))
+            applied &= record(Parameter.P, slot, kP,
+                    motorController.config_kP(slot, kP, timeoutMs) == ErrorCode.OK);
+        double kI = pidSettings.getkI();
+        if (!isApplied(Parameter.I, slot, kI))
+            applied &= record(Parameter.I, slot, kI,
+                    motorController.config_kI(slot, kI, timeoutMs) == ErrorCode.OK);
+        double kD = pidSettings.getkD();
+        if (!isApplied(Parameter.D, slot, kD))
+            applied &= record(Parameter.D, slot, kD,
+                    motorController.config_kD(slot, kD, timeoutMs) == ErrorCode.OK);
+        double kF = feedForwardSettings.getkV();
+        if (!isApplied(Parameter.F, slot, kF))
+            applied &= record(Parameter.F, slot, kF,
+                    motorController.config_kF(slot, kF, timeoutMs) == ErrorCode.OK);
+        return applied;
+    }
+
+    /**
+     * Applies the trapezoid profile settings which have changed to a CTRE motor controller, without waiting for it
+     * to acknowledge them.
+     *
+     * @param motorController the motor controller
+     * @param settings        the trapezoid profile settings
+     * @return whether all the values are applied
+     */
+    public boolean configureTrapezoid(BaseMotorController motorController, TrapezoidProfileSettings settings) {
+        return configureTrapezoid(motorController, settings, 0);
+    }
+
+    /**
+     * Applies the trapezoid profile settings which have changed to a CTRE motor controller.
+     *
+     * @param motorController the motor controller
+     * @param settings        the trapezoid profile settings
+     * @param timeoutMs       the time in milliseconds to wait for each value to be acknowledged, or 0 to not wait
+     * @return whether all the values are applied
+     */
+    public boolean configureTrapezoid(BaseMotorController motorController, TrapezoidProfileSettings settings,
+                                      int timeoutMs) {
+        checkReset(motorController);
+        boolean applied = true;
+        double acceleration = settings.getAccelerationRate();
+        if (!isApplied(Parameter.MAX_ACCELERATION, 0, acceleration))
+            applied &= record(Parameter.MAX_ACCELERATION, 0, acceleration,
+                    motorController.configMotionAcceleration(acceleration, timeoutMs) == ErrorCode.OK);
+        double velocity = settings.getMaxVelocity();
+        if (!isApplied(Parameter.MAX_VELOCITY, 0, velocity))
+            applied &= record(Parameter.MAX_VELOCITY, 0, velocity,
+                    motorController.configMotionCruiseVelocity(velocity, timeoutMs) == ErrorCode.OK);
+        int curve = settings.getCurve();
+        if (!isApplied(Parameter.CURVE, 0, curve))
+            applied &= record(Parameter.CURVE, 0, curve,
+                    motorController.configMotionSCurveStrength(curve, timeoutMs) == ErrorCode.OK);
+        return applied;
+    }
+
+    /**
+     * Applies the PID constants and feed forward gains which have changed to a {@link CANSparkMax}.
+     *
+     * @param sparkMax            the Spark MAX
+     * @param slot                the loop slot to configure
+     * @param pidSettings         the PID constants
+     * @param feedForwardSettings the feed forward gains
+     * @return whether all the values are applied
+     */
+    public boolean configPIDF(CANSparkMax sparkMax, int slot, PIDSettings pidSettings,
+                              FeedForwardSettings feedForwardSettings) {
+        checkReset(sparkMax);
+        SparkMaxPIDController controller = sparkMax.getPIDController();
+        boolean applied = true;
+        double kF = feedForwardSettings.getkV();
+        if (!isApplied(Parameter.F, slot, kF))
+            applied &= record(Parameter.F, slot, kF, controller.setFF(kF, slot) == REVLibError.kOk);
+        double kP = pidSettings.getkP();
+        if (!isApplied(Parameter.P, slot, kP))
+            applied &= record(Parameter.P, slot, kP, controller.setP(kP, slot) == REVLibError.kOk);
+        double kI = pidSettings.getkI();
+        if (!isApplied(Parameter.I, slot, kI))
+            applied &= record(Parameter.I, slot, kI, controller.setI(kI, slot) == REVLibError.kOk);
+        double kD = pidSettings.getkD();
+        if (!isApplied(Parameter.D, slot, kD))
+            applied &= record(Parameter.D, slot, kD, controller.setD(kD, slot) == REVLibError.kOk);
+        return applied;
+    }
+
+    /**
+     * Applies the trapezoid profile settings which have changed to a {@link CANSparkMax}.
+     *
+     * @param sparkMax   the Spark MAX
+     * @param slot       the slot the profile settings are saved on
+     * @param settings   the trapezoid profile settings
+     * @return whether all the values are applied
+     */
+    public boolean configureTrapezoid(CANSparkMax sparkMax, int slot, TrapezoidProfileSettings settings) {
+        checkReset(sparkMax);
+        SparkMaxPIDController controller = sparkMax.getPIDController();
+        boolean applied = true;
+        double acceleration = settings.getAccelerationRate();
+        if (!isApplied(Parameter.MAX_ACCELERATION, slot, acceleration))
+            applied &= record(Parameter.MAX_ACCELERATION, slot, acceleration,
+                    controller.setSmartMotionMaxAccel(acceleration, slot) == REVLibError.kOk);
+        double velocity = settings.getMaxVelocity();
+        if (!isApplied(Parameter.MAX_VELOCITY, slot, velocity))
+            applied &= record(Parameter.MAX_VELOCITY, slot, velocity,
+                    controller.setSmartMotionMaxVelocity(velocity, slot) == REVLibError.kOk);
+        int curve = settings.getCurve();
+        if (!isApplied(Parameter.CURVE, slot, curve))
+            applied &= record(Parameter.CURVE, slot, curve, controller.setSmartMotionAccelStrategy(
+                    SparkMaxPIDController.AccelStrategy.fromInt(curve), slot) == REVLibError.kOk);
+        return applied;
+    }
+
+    /**
+     * Forgets all the applied values, so every configuration is sent the next time.
+     */
+    public void invalidate() {
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * Invalidates the cache if the CTRE motor controller has reset since the last check, since a reset loses
+     * configurations which were not persisted.
+     */
+    private void checkReset(BaseMotorController motorController) {
+        if (motorController.hasResetOccurred()) invalidate();
+    }
+
+    /**
+     * Invalidates the cache if the Spark MAX has reset since the last check, since a reset loses configurations
+     * which were not burned to its flash. The sticky faults are then cleared so the next reset can be detected as
+     * well, after the other sticky faults are reported to the driver station.
+     */
+    private void checkReset(CANSparkMax sparkMax) {
+        if (!sparkMax.getStickyFault(CANSparkMax.FaultID.kHasReset)) return;
+        invalidate();
+        StringBuilder faults = new StringBuilder();
+        for (CANSparkMax.FaultID fault : CANSparkMax.FaultID.values()) {
+            if (fault != CANSparkMax.FaultID.kHasReset && sparkMax.getStickyFault(fault)) {
+                faults.append(' ').append(fault.name());
+            }
+        }
+        if (faults.length() > 0) {
+            DriverStation.reportWarning("Spark MAX " + sparkMax.getDeviceId() + " reset with the sticky faults" +
+                    faults + ", which are cleared now", false);
+        }
+        sparkMax.clearFaults();
+    }
+
+    private boolean record(Parameter parameter, int slot, double value, boolean applied) {
+        if (applied) setApplied(parameter, slot, value);
+        return applied;
+    }
+
+    private static int getIndex(Parameter parameter, int slot) {
+        return slot * PARAMETERS + parameter.ordinal();
+    }
+}
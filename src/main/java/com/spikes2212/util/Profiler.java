@@ -0,0 +1,245 @@
+package com.spikes2212.util;
+
+import com.spikes2212.dashboard.Namespace;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures how long sections of the robot loop take, and publishes summaries of the measurements to a
+ * {@link Namespace}.
+ *
+ * <p>Every section records its durations in a {@link LatencyHistogram}. Once every summary period, the median,
+ * 99th percentile, maximum and mean duration of every section are computed and published, and the histograms are
+ * cleared, so each summary describes only the last period. Where the JVM supports it, the bytes allocated by each
+ * section are measured as well.</p>
+ *
+ * <b>The update method should be called periodically (once per robot loop), otherwise the summaries would not be
+ * published.</b>
+ */
+public class Profiler {
+
+    /**
+     * The default amount of calls to {@link #update()} between two summaries, which is about one second at the
+     * default robot period.
+     */
+    public static final int DEFAULT_SUMMARY_PERIOD = 50;
+
+    /**
+     * Whether the JVM can measure the bytes allocated by a thread.
+     */
+    private static final boolean COUNTS_ALLOCATIONS = countsAllocations();
+
+    private final Namespace namespace;
+    private final int summaryPeriod;
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private Section[] sectionArray = new Section[0];
+    private int cycle;
+
+    /**
+     * Constructs a new instance of {@link Profiler}.
+     *
+     * @param namespace     the namespace the summaries are published to
+     * @param summaryPeriod the amount of calls to {@link #update()} between two summaries
+     */
+    public Profiler(Namespace namespace, int summaryPeriod) {
+        this.namespace = namespace;
+        this.summaryPeriod = Math.max(1, summaryPeriod);
+    }
+
+    /**
+     * Constructs a new instance of {@link Profiler} which publishes a summary about once per second.
+     *
+     * @param namespace the namespace the summaries are published to
+     */
+    public Profiler(Namespace namespace) {
+        this(namespace, DEFAULT_SUMMARY_PERIOD);
+    }
+
+    /**
+     * Returns the section with the given name, and adds it to the namespace if it is new.
+     *
+     * @param name the name of the section
+     * @return the section
+     */
+    public Section getSection(String name) {
+        Section section = sections.get(name);
+        if (section == null) {
+            section = new Section();
+            sections.put(name, section);
+            sectionArray = sections.values().toArray(new Section[0]);
+            namespace.putDouble(name + " median (ms)", section::getMedian);
+            namespace.putDouble(name + " p99 (ms)", section::getPercentile99);
+            namespace.putDouble(name + " max (ms)", section::getMax);
+            namespace.putDouble(name + " mean (ms)", section::getMean);
+            if (COUNTS_ALLOCATIONS) {
+                namespace.putDouble(name + " allocated (bytes)", section::getAllocatedBytes);
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Runs the given action and measures it as the section with the given name.
+     *
+     * @param name   the name of the section
+     * @param action the action to run
+     */
+    public void profile(String name, Runnable action) {
+        Section section = getSection(name);
+        section.start();
+        action.run();
+        section.stop();
+    }
+
+    /**
+     * Wraps a command so that its {@code execute} method is measured as the section with the given name.
+     *
+     * @param name    the name of the section
+     * @param command the command to measure
+     * @return the measured command
+     */
+    public Command profile(String name, Command command) {
+        Section section = getSection(name);
+        return new WrapperCommand(command) {
+            @Override
+            public void execute() {
+                section.start();
+                m_command.execute();
+                section.stop();
+            }
+        };
+    }
+
+    /**
+     * Publishes a summary of every section once every summary period.
+     */
+    public void update() {
+        if (++cycle < summaryPeriod) return;
+        cycle = 0;
+        for (Section section : sectionArray) {
+            section.summarize();
+        }
+    }
+
+    /**
+     * A measured section of the robot loop. Each measurement should start with {@link #start()} and end with
+     * {@link #stop()}, on the same thread.
+     */
+    public static class Section {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long startTime;
+        private long startAllocatedBytes;
+        private long allocatedBytes;
+
+        private double median;
+        private double percentile99;
+        private double max;
+        private double mean;
+        private double allocatedBytesPerCall;
+
+        private Section() {
+        }
+
+        public void start() {
+            if (COUNTS_ALLOCATIONS) startAllocatedBytes = AllocationCounter.getAllocatedBytes();
+            startTime = System.nanoTime();
+        }
+
+        public void stop() {
+            histogram.record(System.nanoTime() - startTime);
+            if (COUNTS_ALLOCATIONS) allocatedBytes += AllocationCounter.getAllocatedBytes() - startAllocatedBytes;
+        }
+
+        /**
+         * @return the median duration in milliseconds during the last summary period
+         */
+        public double getMedian() {
+            return median;
+        }
+
+        /**
+         * @return the 99th percentile of the durations in milliseconds during the last summary period
+         */
+        public double getPercentile99() {
+            return percentile99;
+        }
+
+        /**
+         * @return the longest duration in milliseconds during the last summary period
+         */
+        public double getMax() {
+            return max;
+        }
+
+        /**
+         * @return the mean duration in milliseconds during the last summary period
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * @return the mean amount of bytes allocated per measurement during the last summary period, or 0 if
+         * allocations cannot be measured
+         */
+        public double getAllocatedBytes() {
+            return allocatedBytesPerCall;
+        }
+
+        private void summarize() {
+            long count = histogram.getCount();
+            median = histogram.getPercentile(50) / 1e6;
+            percentile99 = histogram.getPercentile(99) / 1e6;
+            max = histogram.getMax() / 1e6;
+            mean = histogram.getMean() / 1e6;
+            allocatedBytesPerCall = count == 0 ? 0 : (double) allocatedBytes / count;
+            histogram.reset();
+            allocatedBytes = 0;
+        }
+    }
+
+    private static boolean countsAllocations() {
+        try {
+            return AllocationCounter.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread, using the HotSpot extension of the thread management
+     * bean. Kept in its own class so the profiler still works on JVMs which do not include it.
+     */
+    private static class AllocationCounter {
+
+        private static final com.sun.management.ThreadMXBean BEAN = getBean();
+
+        private static com.sun.management.ThreadMXBean getBean() {
+            try {
+                if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean bean =
+                            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                    if (bean.isThreadAllocatedMemorySupported()) {
+                        bean.setThreadAllocatedMemoryEnabled(true);
+                        return bean;
+                    }
+                }
+            } catch (UnsupportedOperationException ignored) {
+            }
+            return null;
+        }
+
+        static boolean isSupported() {
+            return BEAN != null;
+        }
+
+        static long getAllocatedBytes() {
+            return BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
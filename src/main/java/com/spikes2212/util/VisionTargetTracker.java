@@ -0,0 +1,238 @@
+package com.spikes2212.util;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Tracks a target seen by a {@link Limelight} between camera frames.<br>
+ *
+ * <p>Every new frame is timestamped using the camera's latency, and the robot's yaw at the moment of capture is
+ * interpolated from a short gyro history. This gives the target's field-relative heading, which is filtered over
+ * time. The offset from the target can then be predicted at the current time using the robot's current yaw, so
+ * aiming loops can run at full rate on fresh estimates instead of acting on stale camera values.</p>
+ *
+ * <p>Differences between angles are wrapped to the range of -180 to 180 degrees, so the yaw may be either
+ * continuous or wrapped.</p>
+ *
+ * <b>The update method should be called periodically (once per robot loop), otherwise the gyro history would not be
+ * recorded and new frames would not be processed.</b>
+ *
+ * @see Limelight
+ */
+public class VisionTargetTracker {
+
+    /**
+     * The default amount of gyro samples that are kept, which is about one second at the default robot period.
+     */
+    public static final int DEFAULT_HISTORY_LENGTH = 50;
+
+    /**
+     * The default time in seconds without a new frame containing the target before it is considered lost.
+     */
+    public static final double DEFAULT_TARGET_TIMEOUT = 0.5;
+
+    private final Limelight limelight;
+
+    /**
+     * The robot's yaw in degrees, where counter-clockwise rotation is positive.
+     */
+    private final DoubleSupplier yaw;
+
+    /**
+     * The weight given to each new measurement, between 0 (never changes) and 1 (no filtering).
+     */
+    private final double filterWeight;
+
+    private final double targetTimeout;
+
+    private final double[] historyTimestamps;
+    private final double[] historyYaws;
+    private int historyIndex;
+    private int historySize;
+
+    private double lastHeartbeat = Double.NaN;
+    private boolean hasTarget;
+    private double lastCaptureTime;
+
+    /**
+     * The filtered field-relative heading of the target in degrees.
+     */
+    private double targetHeading;
+
+    /**
+     * The filtered rate of change of the target's field-relative heading in degrees per second.
+     */
+    private double targetHeadingRate;
+
+    private double verticalOffset;
+    private double area;
+
+    /**
+     * Constructs a new instance of {@link VisionTargetTracker}.
+     *
+     * @param limelight     the camera that detects the target
+     * @param yaw           the robot's yaw in degrees, where counter-clockwise rotation is positive
+     * @param filterWeight  the weight given to each new frame, between 0 and 1
+     * @param targetTimeout the time in seconds without a new frame before the target is considered lost
+     * @param historyLength the amount of gyro samples to keep, which should cover at least the camera's latency
+     * @throws IllegalArgumentException when the filter weight is not between 0 and 1, or the history length is not
+     *                                  positive
+     */
+    public VisionTargetTracker(Limelight limelight, DoubleSupplier yaw, double filterWeight, double targetTimeout,
+                               int historyLength) {
+        if (!(filterWeight >= 0 && filterWeight <= 1))
+            throw new IllegalArgumentException("The filter weight must be between 0 and 1.");
+        if (historyLength < 1) throw new IllegalArgumentException("The history length must be positive.");
+        this.limelight = limelight;
+        this.yaw = yaw;
+        this.filterWeight = filterWeight;
+        this.targetTimeout = targetTimeout;
+        this.historyTimestamps = new double[historyLength];
+        this.historyYaws = new double[historyLength];
+    }
+
+    /**
+     * Constructs a new instance of {@link VisionTargetTracker}.
+     *
+     * @param limelight    the camera that detects the target
+     * @param yaw          the robot's yaw in degrees, where counter-clockwise rotation is positive
+     * @param filterWeight the weight given to each new frame, between 0 and 1
+     */
+    public VisionTargetTracker(Limelight limelight, DoubleSupplier yaw, double filterWeight) {
+        this(limelight, yaw, filterWeight, DEFAULT_TARGET_TIMEOUT, DEFAULT_HISTORY_LENGTH);
+    }
+
+    /**
+     * Records the robot's current yaw and processes a new frame from the camera, if one has arrived.
+     */
+    public void update() {
+        double now = Timer.getFPGATimestamp();
+        recordYaw(now, yaw.getAsDouble());
+        double heartbeat = limelight.getHeartbeat();
+        if (heartbeat != lastHeartbeat) {
+            lastHeartbeat = heartbeat;
+            if (limelight.hasTarget()) {
+                addFrame(now - limelight.getTotalLatency() / 1000);
+            }
+        }
+        if (hasTarget && now - lastCaptureTime > targetTimeout) {
+            reset();
+        }
+    }
+
+    /**
+     * Forgets the tracked target. The gyro history is kept.
+     */
+    public void reset() {
+        hasTarget = false;
+        targetHeadingRate = 0;
+    }
+
+    /**
+     * @return whether a target is currently tracked
+     */
+    public boolean hasTarget() {
+        return hasTarget;
+    }
+
+    /**
+     * @return the predicted horizontal offset from the crosshair to the target at the current time, in degrees,
+     * where positive values are to the right, or 0 if no target is tracked
+     */
+    public double getHorizontalOffsetFromTargetInDegrees() {
+        if (!hasTarget) return 0;
+        double elapsed = Timer.getFPGATimestamp() - lastCaptureTime;
+        return wrap(yaw.getAsDouble() - (targetHeading + targetHeadingRate * elapsed));
+    }
+
+    /**
+     * @return the filtered vertical offset from the crosshair to the target, in degrees, or 0 if no target is tracked
+     */
+    public double getVerticalOffsetFromTargetInDegrees() {
+        return hasTarget ? verticalOffset : 0;
+    }
+
+    /**
+     * @return the filtered area that the target takes up in the camera's FOV (0% to 100%), or 0 if no target is
+     * tracked
+     */
+    public double getTargetAreaPercentage() {
+        return hasTarget ? area : 0;
+    }
+
+    /**
+     * @return the filtered field-relative heading of the target in degrees, or 0 if no target is tracked
+     */
+    public double getTargetHeading() {
+        return hasTarget ? targetHeading : 0;
+    }
+
+    /**
+     * @return the FPGA timestamp in seconds at which the last frame containing the target was captured
+     */
+    public double getLastCaptureTime() {
+        return lastCaptureTime;
+    }
+
+    private void addFrame(double captureTime) {
+        double measuredHeading = getYawAt(captureTime) - limelight.getHorizontalOffsetFromTargetInDegrees();
+        double measuredVerticalOffset = limelight.getVerticalOffsetFromTargetInDegrees();
+        double measuredArea = limelight.getTargetAreaPercentage();
+        if (!hasTarget) {
+            targetHeading = measuredHeading;
+            targetHeadingRate = 0;
+            verticalOffset = measuredVerticalOffset;
+            area = measuredArea;
+            hasTarget = true;
+        } else {
+            double dt = captureTime - lastCaptureTime;
+            double previousHeading = targetHeading;
+            targetHeading += filterWeight * wrap(measuredHeading - targetHeading);
+            if (dt > 0) {
+                targetHeadingRate += filterWeight * ((targetHeading - previousHeading) / dt - targetHeadingRate);
+            }
+            verticalOffset += filterWeight * (measuredVerticalOffset - verticalOffset);
+            area += filterWeight * (measuredArea - area);
+        }
+        lastCaptureTime = captureTime;
+    }
+
+    private void recordYaw(double timestamp, double yaw) {
+        historyIndex = (historyIndex + 1) % historyTimestamps.length;
+        historyTimestamps[historyIndex] = timestamp;
+        historyYaws[historyIndex] = yaw;
+        if (historySize < historyTimestamps.length) historySize++;
+    }
+
+    /**
+     * Interpolates the robot's yaw at the given time from the recorded history.
+     *
+     * @param timestamp the FPGA timestamp in seconds
+     * @return the robot's yaw at that time, clamped to the oldest and newest recorded values
+     */
+    private double getYawAt(double timestamp) {
+        int newer = historyIndex;
+        if (timestamp >= historyTimestamps[newer]) return historyYaws[newer];
+        for (int i = 1; i < historySize; i++) {
+            int older = (historyIndex - i + historyTimestamps.length) % historyTimestamps.length;
+            if (historyTimestamps[older] <= timestamp) {
+                double span = historyTimestamps[newer] - historyTimestamps[older];
+                if (span <= 0) return historyYaws[newer];
+                double t = (timestamp - historyTimestamps[older]) / span;
+                return historyYaws[older] + t * wrap(historyYaws[newer] - historyYaws[older]);
+            }
+            newer = older;
+        }
+        return historyYaws[newer];
+    }
+
+    /**
+     * @param angle an angle in degrees
+     * @return the equivalent angle between -180 and 180 degrees
+     */
+    private static double wrap(double angle) {
+        return MathUtil.inputModulus(angle, -180, 180);
+    }
+}
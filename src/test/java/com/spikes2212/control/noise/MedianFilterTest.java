@@ -0,0 +1,55 @@
+package com.spikes2212.control.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MedianFilterTest {
+
+    @Test
+    void ignoresShortSpikes() {
+        MedianFilter filter = new MedianFilter(3);
+        assertEquals(1, filter.calculate(1));
+        assertEquals(3, filter.calculate(5));
+        assertEquals(2, filter.calculate(2));
+        assertEquals(5, filter.calculate(100));
+        assertEquals(3, filter.calculate(3));
+        assertEquals(3, filter.calculate(2));
+    }
+
+    @Test
+    void matchesTheMedianOfTheWindowOverALongStream() {
+        for (int windowSize = 1; windowSize <= 6; windowSize++) {
+            MedianFilter filter = new MedianFilter(windowSize);
+            Random random = new Random(windowSize);
+            double[] measurements = new double[500];
+            for (int i = 0; i < measurements.length; i++) {
+                measurements[i] = random.nextInt(20);
+                double[] window = Arrays.copyOfRange(measurements, Math.max(0, i - windowSize + 1), i + 1);
+                Arrays.sort(window);
+                int middle = window.length / 2;
+                double median = window.length % 2 == 1 ? window[middle] : (window[middle - 1] + window[middle]) / 2;
+                assertEquals(median, filter.calculate(measurements[i]), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void forgetsTheMeasurementsWhenReset() {
+        MedianFilter filter = new MedianFilter(3);
+        filter.calculate(7);
+        filter.calculate(8);
+        filter.reset();
+        assertEquals(1, filter.calculate(1));
+        assertEquals(1.5, filter.calculate(2));
+    }
+
+    @Test
+    void rejectsANonPositiveWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MedianFilter(0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.spikes2212.control.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MonotonicWindowFilterTest {
+
+    @Test
+    void holdsThePeakUntilItLeavesTheWindow() {
+        MovingMaxFilter filter = new MovingMaxFilter(3);
+        assertEquals(1, filter.calculate(1));
+        assertEquals(5, filter.calculate(5));
+        assertEquals(5, filter.calculate(2));
+        assertEquals(5, filter.calculate(3));
+        assertEquals(3, filter.calculate(1));
+        assertEquals(3, filter.calculate(0));
+        assertEquals(1, filter.calculate(0));
+    }
+
+    @Test
+    void matchesTheExtremaOfTheWindowOverALongStream() {
+        int windowSize = 5;
+        MovingMaxFilter maxFilter = new MovingMaxFilter(windowSize);
+        MovingMinFilter minFilter = new MovingMinFilter(windowSize);
+        Random random = new Random(2212);
+        double[] measurements = new double[1000];
+        for (int i = 0; i < measurements.length; i++) {
+            // few distinct values, so equal measurements are common
+            measurements[i] = random.nextInt(10);
+            double max = Double.NEGATIVE_INFINITY;
+            double min = Double.POSITIVE_INFINITY;
+            for (int j = Math.max(0, i - windowSize + 1); j <= i; j++) {
+                max = Math.max(max, measurements[j]);
+                min = Math.min(min, measurements[j]);
+            }
+            assertEquals(max, maxFilter.calculate(measurements[i]));
+            assertEquals(min, minFilter.calculate(measurements[i]));
+        }
+    }
+
+    @Test
+    void forgetsTheMeasurementsWhenReset() {
+        MovingMinFilter filter = new MovingMinFilter(3);
+        filter.calculate(-10);
+        filter.reset();
+        assertEquals(4, filter.calculate(4));
+        assertEquals(2, filter.calculate(2));
+    }
+
+    @Test
+    void rejectsANonPositiveWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MovingMaxFilter(0));
+        assertThrows(IllegalArgumentException.class, () -> new MovingMinFilter(-1));
+    }
+}
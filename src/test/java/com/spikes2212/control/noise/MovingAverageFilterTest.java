@@ -0,0 +1,53 @@
+package com.spikes2212.control.noise;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MovingAverageFilterTest {
+
+    @Test
+    void averagesTheMeasurementsSoFarUntilTheWindowFills() {
+        MovingAverageFilter filter = new MovingAverageFilter(3);
+        assertEquals(3, filter.calculate(3), 1e-9);
+        assertEquals(4.5, filter.calculate(6), 1e-9);
+        assertEquals(6, filter.calculate(9), 1e-9);
+        assertEquals(9, filter.calculate(12), 1e-9);
+        assertEquals(12, filter.calculate(15), 1e-9);
+    }
+
+    @Test
+    void matchesTheAverageOfTheWindowOverALongStream() {
+        int windowSize = 7;
+        MovingAverageFilter filter = new MovingAverageFilter(windowSize);
+        Random random = new Random(2212);
+        double[] measurements = new double[1000];
+        for (int i = 0; i < measurements.length; i++) {
+            measurements[i] = random.nextDouble() * 1e6;
+            double sum = 0;
+            int start = Math.max(0, i - windowSize + 1);
+            for (int j = start; j <= i; j++) {
+                sum += measurements[j];
+            }
+            assertEquals(sum / (i - start + 1), filter.calculate(measurements[i]), 1e-6);
+        }
+    }
+
+    @Test
+    void forgetsTheMeasurementsWhenReset() {
+        MovingAverageFilter filter = new MovingAverageFilter(4);
+        filter.calculate(100);
+        filter.calculate(200);
+        filter.reset();
+        assertEquals(10, filter.calculate(10), 1e-9);
+        assertEquals(15, filter.calculate(20), 1e-9);
+    }
+
+    @Test
+    void rejectsANonPositiveWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MovingAverageFilter(0));
+    }
+}
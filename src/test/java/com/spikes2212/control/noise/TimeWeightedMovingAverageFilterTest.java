@@ -0,0 +1,47 @@
+package com.spikes2212.control.noise;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeWeightedMovingAverageFilterTest {
+
+    @Test
+    void returnsTheFirstMeasurement() {
+        TimeWeightedMovingAverageFilter filter = new TimeWeightedMovingAverageFilter(1);
+        assertEquals(4, filter.calculate(4, 10), 1e-9);
+    }
+
+    @Test
+    void weightsMeasurementsByTheTimeSinceThePreviousOne() {
+        TimeWeightedMovingAverageFilter filter = new TimeWeightedMovingAverageFilter(10);
+        filter.calculate(0, 0);
+        assertEquals(10, filter.calculate(10, 1), 1e-9);
+        // a late measurement covers a longer interval, so it weighs more
+        assertEquals((10 * 1 + 40 * 3) / 4.0, filter.calculate(40, 4), 1e-9);
+    }
+
+    @Test
+    void weightsOnlyThePartOfAnIntervalInsideTheWindow() {
+        TimeWeightedMovingAverageFilter filter = new TimeWeightedMovingAverageFilter(1.5);
+        filter.calculate(0, 0);
+        filter.calculate(10, 1);
+        assertEquals((10 * 0.5 + 20 * 1) / 1.5, filter.calculate(20, 2), 1e-9);
+        assertEquals((20 * 0.5 + 30 * 1) / 1.5, filter.calculate(30, 3), 1e-9);
+    }
+
+    @Test
+    void forgetsTheMeasurementsWhenReset() {
+        TimeWeightedMovingAverageFilter filter = new TimeWeightedMovingAverageFilter(10);
+        filter.calculate(100, 0);
+        filter.calculate(100, 1);
+        filter.reset();
+        assertEquals(5, filter.calculate(5, 2), 1e-9);
+    }
+
+    @Test
+    void rejectsACapacityBelowTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeWeightedMovingAverageFilter(1, 1));
+    }
+}
@@ -0,0 +1,39 @@
+package com.spikes2212.dashboard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamespacePublisherTest {
+
+    @Test
+    void publishesEveryChangeWithoutADeadband() {
+        assertFalse(NamespacePublisher.hasChanged(1, 1, 0));
+        assertTrue(NamespacePublisher.hasChanged(1 + 1e-12, 1, 0));
+        assertTrue(NamespacePublisher.hasChanged(-1, 1, 0));
+    }
+
+    @Test
+    void skipsChangesWithinTheDeadband() {
+        assertFalse(NamespacePublisher.hasChanged(1.05, 1, 0.1));
+        assertFalse(NamespacePublisher.hasChanged(0.95, 1, 0.1));
+        assertFalse(NamespacePublisher.hasChanged(1.1, 1, 0.1 + 1e-9));
+        assertTrue(NamespacePublisher.hasChanged(1.2, 1, 0.1));
+        assertTrue(NamespacePublisher.hasChanged(0.8, 1, 0.1));
+    }
+
+    @Test
+    void publishesChangesToAndFromNaN() {
+        assertTrue(NamespacePublisher.hasChanged(Double.NaN, 1, 0));
+        assertTrue(NamespacePublisher.hasChanged(1, Double.NaN, 0.1));
+        assertFalse(NamespacePublisher.hasChanged(Double.NaN, Double.NaN, 0));
+        assertFalse(NamespacePublisher.hasChanged(Double.NaN, Double.NaN, 0.1));
+    }
+
+    @Test
+    void publishesChangesToAndFromInfinity() {
+        assertTrue(NamespacePublisher.hasChanged(Double.POSITIVE_INFINITY, 1, 0.1));
+        assertFalse(NamespacePublisher.hasChanged(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 0));
+    }
+}
@@ -0,0 +1,103 @@
+package com.spikes2212.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationSchedulerTest {
+
+    private final List<String> runs = new ArrayList<>();
+
+    @AfterEach
+    void drain() {
+        while (!ConfigurationScheduler.isIdle()) {
+            ConfigurationScheduler.update();
+        }
+        ConfigurationScheduler.setFramesPerUpdate(ConfigurationScheduler.DEFAULT_FRAMES_PER_UPDATE);
+        ConfigurationScheduler.setMaxAttempts(ConfigurationScheduler.DEFAULT_MAX_ATTEMPTS);
+    }
+
+    @Test
+    void runsTasksInOrderWithinTheFrameBudget() {
+        ConfigurationScheduler.setFramesPerUpdate(4);
+        ConfigurationScheduler.Task first = ConfigurationScheduler.schedule("first", 2, succeeding("first"));
+        ConfigurationScheduler.schedule("second", 2, succeeding("second"));
+        ConfigurationScheduler.Task third = ConfigurationScheduler.schedule("third", 2, succeeding("third"));
+        assertEquals(3, ConfigurationScheduler.getPendingCount());
+
+        ConfigurationScheduler.update();
+        assertEquals(Arrays.asList("first", "second"), runs);
+        assertEquals(ConfigurationScheduler.Task.State.COMPLETED, first.getState());
+        assertFalse(third.isDone());
+
+        ConfigurationScheduler.update();
+        assertEquals(Arrays.asList("first", "second", "third"), runs);
+        assertTrue(third.isDone());
+        assertTrue(ConfigurationScheduler.isIdle());
+    }
+
+    @Test
+    void runsATaskWhichExceedsTheBudgetAlone() {
+        ConfigurationScheduler.setFramesPerUpdate(4);
+        ConfigurationScheduler.schedule("large", 10, succeeding("large"));
+        ConfigurationScheduler.schedule("small", 1, succeeding("small"));
+
+        ConfigurationScheduler.update();
+        assertEquals(Arrays.asList("large"), runs);
+    }
+
+    @Test
+    void retriesAFailedTaskBeforeLaterTasks() {
+        int[] attempts = {0};
+        ConfigurationScheduler.Task flaky = ConfigurationScheduler.schedule("flaky", 1, () -> {
+            runs.add("flaky");
+            return ++attempts[0] > 1;
+        });
+        ConfigurationScheduler.schedule("later", 1, succeeding("later"));
+
+        ConfigurationScheduler.update();
+        assertEquals(Arrays.asList("flaky"), runs);
+        assertFalse(flaky.isDone());
+
+        ConfigurationScheduler.update();
+        assertEquals(Arrays.asList("flaky", "flaky", "later"), runs);
+        assertEquals(ConfigurationScheduler.Task.State.COMPLETED, flaky.getState());
+    }
+
+    @Test
+    void runsADependentTaskAfterItsDependency() {
+        ConfigurationScheduler.setFramesPerUpdate(1);
+        ConfigurationScheduler.Task dependency = ConfigurationScheduler.schedule("dependency", 1,
+                succeeding("dependency"));
+        ConfigurationScheduler.Task dependent = dependency.then("dependent", 1, succeeding("dependent"));
+
+        ConfigurationScheduler.update();
+        assertTrue(dependency.isDone());
+        assertFalse(dependent.isDone());
+
+        ConfigurationScheduler.update();
+        assertEquals(ConfigurationScheduler.Task.State.COMPLETED, dependent.getState());
+        assertEquals(Arrays.asList("dependency", "dependent"), runs);
+    }
+
+    @Test
+    void rejectsANonPositiveFrameBudget() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationScheduler.setFramesPerUpdate(0));
+    }
+
+    private BooleanSupplier succeeding(String name) {
+        return () -> {
+            runs.add(name);
+            return true;
+        };
+    }
+}
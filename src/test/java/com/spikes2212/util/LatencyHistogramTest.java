@@ -0,0 +1,74 @@
+package com.spikes2212.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void returnsZeroWhenNothingWasRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    void countsSmallDurationsExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int nanos = 1; nanos <= 10; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(10, histogram.getMax());
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(9, histogram.getPercentile(90));
+        assertEquals(10, histogram.getPercentile(100));
+    }
+
+    @Test
+    void estimatesPercentilesWithinTheBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(2212);
+        long[] samples = new long[10000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 1000 + (long) (random.nextDouble() * 20_000_000);
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            long actual = samples[(int) Math.ceil(percentile / 100 * samples.length) - 1];
+            long estimate = histogram.getPercentile(percentile);
+            assertTrue(estimate >= actual, "p" + percentile + " estimate " + estimate + " < " + actual);
+            assertTrue(estimate <= actual * 1.0625 + 1, "p" + percentile + " estimate " + estimate + " >> " + actual);
+        }
+        assertEquals(samples[samples.length - 1], histogram.getPercentile(100));
+    }
+
+    @Test
+    void recordsNegativeDurationsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    void forgetsTheDurationsWhenReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+        histogram.reset();
+        histogram.record(3);
+        assertEquals(1, histogram.getCount());
+        assertEquals(3, histogram.getMax());
+        assertEquals(3, histogram.getPercentile(100));
+    }
+}
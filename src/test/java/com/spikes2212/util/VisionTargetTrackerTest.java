@@ -0,0 +1,29 @@
+package com.spikes2212.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VisionTargetTrackerTest {
+
+    @Test
+    void acceptsFilterWeightsBetweenZeroAndOne() {
+        assertDoesNotThrow(() -> new VisionTargetTracker(null, () -> 0, 0));
+        assertDoesNotThrow(() -> new VisionTargetTracker(null, () -> 0, 0.3));
+        assertDoesNotThrow(() -> new VisionTargetTracker(null, () -> 0, 1));
+    }
+
+    @Test
+    void rejectsFilterWeightsOutsideZeroAndOne() {
+        assertThrows(IllegalArgumentException.class, () -> new VisionTargetTracker(null, () -> 0, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new VisionTargetTracker(null, () -> 0, 1.1));
+        assertThrows(IllegalArgumentException.class, () -> new VisionTargetTracker(null, () -> 0, Double.NaN));
+    }
+
+    @Test
+    void rejectsANonPositiveHistoryLength() {
+        assertThrows(IllegalArgumentException.class, () -> new VisionTargetTracker(null, () -> 0, 0.5,
+                VisionTargetTracker.DEFAULT_TARGET_TIMEOUT, 0));
+    }
+}